@@ -13,7 +13,9 @@ import com.github.javaparser.symbolsolver.resolution.typesolvers.JarTypeSolver;
 import com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeSolver;
 import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
 import de.upb.sse.jess.annotation.Annotator;
+import de.upb.sse.jess.annotation.KeepMarks;
 import de.upb.sse.jess.api.PublicApi;
+import de.upb.sse.jess.cache.SliceCache;
 import de.upb.sse.jess.configuration.JessConfiguration;
 import de.upb.sse.jess.dependency.MavenDependencyResolver;
 import de.upb.sse.jess.exceptions.AmbiguityException;
@@ -21,6 +23,8 @@ import de.upb.sse.jess.generation.StubGenerator;
 import de.upb.sse.jess.inference.InferenceEngine;
 import de.upb.sse.jess.model.ImportContext;
 import de.upb.sse.jess.model.ResolutionInformation;
+import de.upb.sse.jess.resolution.RobustResolver;
+import de.upb.sse.jess.resolution.TypeIndex;
 import de.upb.sse.jess.model.stubs.ClassType;
 import de.upb.sse.jess.stats.StubbingStats;
 import de.upb.sse.jess.stubbing.JessStubberAdapter;
@@ -28,6 +32,7 @@ import de.upb.sse.jess.stubbing.SpoonStubbingRunner;
 import de.upb.sse.jess.stubbing.Stubber;
 import de.upb.sse.jess.util.FileUtil;
 import de.upb.sse.jess.util.ImportUtil;
+import de.upb.sse.jess.util.LargeStackExecutor;
 import de.upb.sse.jess.visitors.*;
 import de.upb.sse.jess.visitors.pre.InternalKeptTypeResolutionVisitor;
 import de.upb.sse.jess.visitors.pre.InternalResolutionVisitor;
@@ -41,6 +46,7 @@ import org.objectweb.asm.tree.MethodNode;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
@@ -57,6 +63,7 @@ public class Jess {
     private static JavaSymbolSolver symbolSolver;
 
     private CompilationUnit cleanRoot;
+    private KeepMarks keepMarks = new KeepMarks(); // keep marks of the current preSlice/parse session
     @Getter private final JessConfiguration config;
     @Getter private final StubbingStats stubbingStats = new StubbingStats();
     private final List<String> packageRoots = new ArrayList<>();
@@ -64,6 +71,11 @@ public class Jess {
     private final List<Path> jarPaths = new ArrayList<>();
     private final Stubber stubber;
     private String lastCompilationErrors; // Store last compilation error messages
+    private Throwable lastFatalError; // VirtualMachineError caught during the last parse (if any)
+    private final SliceCache sliceCache;
+    private final List<String> keptSignatures = new ArrayList<>(); // signatures passed to the last preSlice
+    private Path keptTarget; // target of the last preSlice, until parse used it
+    private final Set<Path> sliceDependencies = new LinkedHashSet<>(); // source files the last slice was computed from
 
     /**
      * Get the last compilation error messages (if any).
@@ -73,6 +85,14 @@ public class Jess {
         return lastCompilationErrors;
     }
 
+    /**
+     * Get the StackOverflowError/OutOfMemoryError caught during the last parse, if any.
+     * After such an error the JVM state may be degraded, callers may want to discard the JVM.
+     */
+    public Throwable getLastFatalError() {
+        return lastFatalError;
+    }
+
     private static final Logger logger = Logger.getLogger(Jess.class.getName());
 
     public Jess() {
@@ -137,6 +157,8 @@ public class Jess {
         }
 
         symbolSolver = new JavaSymbolSolver(combinedTypeSolver);
+        TypeIndex.setCurrent(new TypeIndex(collectedSourceRoots, jarPaths));
+        RobustResolver.clearCache();
 
         // prefer config, let system property override if provided
         boolean useSpoon =
@@ -147,6 +169,7 @@ public class Jess {
                 ? new SpoonStubbingRunner(this.config)
                 : new JessStubberAdapter(this);
 
+        this.sliceCache = config.getSliceCacheDir() != null ? new SliceCache(config.getSliceCacheDir()) : null;
 
     }
 
@@ -157,6 +180,52 @@ public class Jess {
     }
 
     public int parse(String targetClass, String classOutput) {
+        // The cache key describes the kept signatures, so it is only valid right after a preSlice of this target
+        Path target = Paths.get(targetClass).toAbsolutePath().normalize();
+        boolean preSliced = target.equals(keptTarget);
+        List<String> kept = new ArrayList<>(keptSignatures);
+        keptTarget = null;
+        keptSignatures.clear();
+        if (sliceCache == null || !preSliced) return sliceAndCompile(targetClass, classOutput);
+
+        String key;
+        try {
+            key = sliceCache.key(Paths.get(targetClass), kept, getCacheFingerprint());
+        } catch (IOException e) {
+            return sliceAndCompile(targetClass, classOutput);
+        }
+
+        SliceCache.Entry cached = sliceCache.restore(key, Paths.get(SRC_OUTPUT), Paths.get(classOutput));
+        if (cached != null) {
+            System.out.println("[SliceCache] Hit for " + targetClass);
+            this.lastCompilationErrors = cached.compilationErrors;
+            sliceDependencies.clear();
+            sliceDependencies.addAll(cached.dependencies);
+            return cached.exitCode;
+        }
+
+        int exit = sliceAndCompile(targetClass, classOutput);
+        // Internal errors are not cached, they may be caused by the environment (e.g., stack size)
+        if (exit != 2) {
+            sliceCache.store(key, sliceDependencies, Paths.get(SRC_OUTPUT), Paths.get(classOutput),
+                    new SliceCache.Entry(exit, this.lastCompilationErrors));
+        }
+        return exit;
+    }
+
+    private int sliceAndCompile(String targetClass, String classOutput) {
+        // Resolution and Spoon model building recurse deeply on circular hierarchies
+        return LargeStackExecutor.call(config.getResolutionStackSize(), "jess-slice",
+                () -> sliceAndCompileOnCurrentThread(targetClass, classOutput));
+    }
+
+    private int sliceAndCompileOnCurrentThread(String targetClass, String classOutput) {
+        lastFatalError = null;
+        // Results memoized during preSlice refer to nodes that SlicingVisitor has rewritten since
+        RobustResolver.clearCache();
+        sliceDependencies.clear();
+        sliceDependencies.add(Paths.get(targetClass).toAbsolutePath().normalize());
+        KeepMarks.setCurrent(this.keepMarks);
         try {
             CompilationUnit root = getCompilationUnit(targetClass);
             if (this.cleanRoot == null) {
@@ -182,6 +251,7 @@ public class Jess {
             // Slice away unused methods/fields and slice bodies of used methods
             Slicer slicer = new Slicer(config, getFullyQualifiedRootName(this.cleanRoot), symbolSolver, annotatedUnits);
             Map<String, CompilationUnit> types = slicer.slice();
+            types.values().forEach(cu -> cu.getStorage().ifPresent(st -> sliceDependencies.add(st.getPath().toAbsolutePath().normalize())));
 
             System.out.println("\n==================================================================================");
             System.out.println("2. SLICED CODE");
@@ -194,7 +264,7 @@ public class Jess {
             });
 
 
-            // Remove artificial marker annotations
+            // Remove the source's own marker annotations (only @TargetMethod is retained); keep marks live in KeepMarks
             MarkerAnnotationRemovalVisitor marv = new MarkerAnnotationRemovalVisitor();
             types.forEach((fqn, cu) -> marv.visit(cu, null));
 
@@ -203,6 +273,7 @@ public class Jess {
             ex.extract(types);
 
             // Remove unused imports of original file (due to javadoc comments, etc.)
+            // The clean root is cloned as cleanRoot is reused by later parse calls for the same target
             root = getCleanRoot();
             marv.visit(root, null);
             ResolutionInformation usedTypes = new ResolutionInformation();
@@ -231,11 +302,12 @@ public class Jess {
         } catch (AmbiguityException e) {
           throw e;
         } catch (Throwable e) {
+            if (e instanceof VirtualMachineError) lastFatalError = e;
             if (e instanceof StackOverflowError) {
                 System.err.println("StackOverflowError: JavaParser symbol resolution overflow (likely circular type dependencies)");
                 System.err.println("  This is a known limitation of JavaParser when resolving complex inheritance hierarchies.");
-                System.err.println("  Suggestion: Increase JVM stack size with -Xss4m or -Xss8m");
-                System.err.println("  Example: java -Xss8m -jar jess.jar ...");
+                System.err.println("  Suggestion: Increase the resolution stack size (" + config.getResolutionStackSize()
+                        + " bytes), e.g. with -Djess.resolutionStack=256m");
             } else if (e instanceof OutOfMemoryError) {
                 System.err.println("OutOfMemoryError: " + e.getMessage());
                 System.err.println("Heap memory exhausted. Consider increasing JVM heap size with -Xmx option.");
@@ -249,11 +321,21 @@ public class Jess {
             return 2;
         } finally {
             JavaParserFacade.clearInstances();
+            RobustResolver.clearCache();
         }
     }
 
     public void preSlice(String targetClass, List<String> methodsToKeep, List<String> keepClinit, List<String> keepInit) throws IOException {
+        LargeStackExecutor.call(config.getResolutionStackSize(), "jess-preslice", () -> {
+            preSliceOnCurrentThread(targetClass, methodsToKeep, keepClinit, keepInit);
+            return null;
+        });
+    }
+
+    private void preSliceOnCurrentThread(String targetClass, List<String> methodsToKeep, List<String> keepClinit, List<String> keepInit) throws IOException {
         Path targetClassPath = Paths.get(targetClass);
+        this.keepMarks = new KeepMarks();
+        KeepMarks.setCurrent(this.keepMarks);
 
         ParserConfiguration parserConfig = new ParserConfiguration();
         parserConfig.setSymbolResolver(symbolSolver);
@@ -278,6 +360,12 @@ public class Jess {
         sv.visit(root, null);
 
         this.cleanRoot = root;
+
+        keptSignatures.clear();
+        keptSignatures.addAll(methodsToKeep);
+        keptSignatures.add("<clinit>" + keepClinit);
+        keptSignatures.add("<init>" + keepInit);
+        keptTarget = targetClassPath.toAbsolutePath().normalize();
     }
 
     public void preSlice(String targetClass, List<String> methodToKeep) throws IOException {
@@ -390,6 +478,36 @@ public class Jess {
     }
 
 
+    /**
+     * Fingerprint of everything besides the slice's dependency closure that influences the slicing and
+     * compilation result. Types that failed to resolve were stubbed, and the stubber reads the source roots
+     * and the context classpath as context, so any file added, removed or changed below them changes the
+     * fingerprint.
+     */
+    private String getCacheFingerprint() throws IOException {
+        StringBuilder sb = new StringBuilder(config.toString());
+        for (Path jar : jarPaths) {
+            File jarFile = jar.toFile();
+            sb.append('|').append(jar).append(':').append(jarFile.length()).append(':').append(jarFile.lastModified());
+        }
+        List<Path> contextRoots = new ArrayList<>();
+        packageRoots.forEach(root -> contextRoots.add(Paths.get(root)));
+        if (config.getContextClasspath() != null) contextRoots.add(config.getContextClasspath());
+        sb.append('|').append(FileUtil.contentHash(FileUtil.fileListing(contextRoots).getBytes(StandardCharsets.UTF_8)));
+        return sb.toString();
+    }
+
+    /**
+     * Source files the last slice was computed from (the target file and its dependency closure).
+     */
+    public Set<Path> getSliceDependencies() {
+        return Collections.unmodifiableSet(sliceDependencies);
+    }
+
+    public SliceCache getSliceCache() {
+        return sliceCache;
+    }
+
     private CompilationUnit getCleanRoot() {
         return this.cleanRoot.clone();
     }
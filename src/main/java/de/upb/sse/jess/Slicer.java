@@ -5,6 +5,7 @@ import com.github.javaparser.symbolsolver.JavaSymbolSolver;
 import de.upb.sse.jess.configuration.JessConfiguration;
 import de.upb.sse.jess.model.ResolutionInformation;
 import de.upb.sse.jess.annotation.Annotator;
+import de.upb.sse.jess.annotation.KeepMarks;
 import de.upb.sse.jess.visitors.*;
 import de.upb.sse.jess.visitors.pre.PreSlicingVisitor;
 import de.upb.sse.jess.visitors.slicing.SlicingVisitor;
@@ -20,70 +21,76 @@ public class Slicer {
     private final JavaSymbolSolver symbolSolver;
     private final Map<String, CompilationUnit> annotatedUnits;
 
+    /**
+     * Slices all units reachable from the initially annotated units.
+     *
+     * Units are processed level by level from a worklist: the initial units, then the units discovered
+     * while processing them, and so on. Every unit is processed once; a unit that was already processed
+     * is only revisited when members in it received new keep marks since (see {@link KeepMarks#getVersion}).
+     * Discovery order and annotators are the same as in the former round-based loop, which re-processed
+     * every unit of the first round and re-injected the symbol solver each time.
+     */
     public Map<String, CompilationUnit> slice() {
         Annotator ann = new Annotator();
+        Map<CompilationUnit, Integer> processed = new IdentityHashMap<>();
 
         for (Map.Entry<String, CompilationUnit> entry : annotatedUnits.entrySet()) {
-            CompilationUnit currentUnit = entry.getValue();
-            this.symbolSolver.inject(currentUnit);
-
-            PreSlicingVisitor psv = new PreSlicingVisitor(this.targetClass, ann);
-            psv.visit(currentUnit, null);
-
-            SlicingVisitor sv = new SlicingVisitor(this.targetClass);
-            sv.visit(currentUnit, null);
-
-            ResolutionVisitor rv = new ResolutionVisitor(ann);
-            rv.visit(currentUnit, null);
-
-            ResolutionInformation usedTypesInfo = new ResolutionInformation();
-            TypeUsageVisitor tuv = new TypeUsageVisitor();
-            tuv.visit(currentUnit, usedTypesInfo);
-
-            Set<String> usedTypes = usedTypesInfo.getAllTypes();
-            UnusedImportsVisitor uiv = new UnusedImportsVisitor(usedTypes, config.isKeepAsteriskImports());
-            uiv.visit(currentUnit, null);
+            process(entry.getValue(), ann, ann, processed);
         }
 
         Map<String, CompilationUnit> slicedUnits = ann.getAnnotatedUnits();
         slicedUnits.remove(this.targetClass);
 
-        Map<String, CompilationUnit> fullySlicedUnits = new HashMap<>(slicedUnits);
-        while (fullySlicedUnits.size() > 0) {
+        Map<String, CompilationUnit> worklist = new HashMap<>(slicedUnits);
+        while (worklist.size() > 0) {
             Annotator fullySlicedAnnotator = new Annotator();
-            for (Map.Entry<String, CompilationUnit> entry : fullySlicedUnits.entrySet()) {
+            for (Map.Entry<String, CompilationUnit> entry : worklist.entrySet()) {
                 CompilationUnit currentUnit = entry.getValue();
-                String currentClass = entry.getKey();
-                this.symbolSolver.inject(currentUnit);
-
-                PreSlicingVisitor psv = new PreSlicingVisitor(this.targetClass, ann);
-                psv.visit(currentUnit, null);
-
-                SlicingVisitor sv = new SlicingVisitor(this.targetClass);
-                sv.visit(currentUnit, null);
-
-                ResolutionVisitor rv = new ResolutionVisitor(fullySlicedAnnotator);
-                rv.visit(currentUnit, null);
-
-                ResolutionInformation usedTypesInfo = new ResolutionInformation();
-                TypeUsageVisitor tuv = new TypeUsageVisitor();
-                tuv.visit(currentUnit, usedTypesInfo);
-
-                Set<String> usedTypes = usedTypesInfo.getAllTypes();
-                UnusedImportsVisitor uiv = new UnusedImportsVisitor(usedTypes, config.isKeepAsteriskImports());
-                uiv.visit(currentUnit, null);
-
-                annotatedUnits.putIfAbsent(currentClass, currentUnit);
+                if (needsProcessing(currentUnit, processed)) {
+                    process(currentUnit, ann, fullySlicedAnnotator, processed);
+                }
+                annotatedUnits.putIfAbsent(entry.getKey(), currentUnit);
             }
 
             Map<String, CompilationUnit> newlyDiscoveredUnits = fullySlicedAnnotator.getAnnotatedUnits();
             for (Map.Entry<String, CompilationUnit> entry : annotatedUnits.entrySet()) {
-                newlyDiscoveredUnits.remove(entry.getKey());
+                // Known units are only revisited when they received new keep marks
+                CompilationUnit discovered = newlyDiscoveredUnits.get(entry.getKey());
+                if (discovered != entry.getValue() || !needsProcessing(discovered, processed)) {
+                    newlyDiscoveredUnits.remove(entry.getKey());
+                }
             }
-            fullySlicedUnits = new HashMap<>(newlyDiscoveredUnits);
+            worklist = new HashMap<>(newlyDiscoveredUnits);
         }
 
         return annotatedUnits;
     }
 
+    private void process(CompilationUnit currentUnit, Annotator preSlicingAnnotator, Annotator resolutionAnnotator,
+                         Map<CompilationUnit, Integer> processed) {
+        if (!processed.containsKey(currentUnit)) this.symbolSolver.inject(currentUnit);
+
+        PreSlicingVisitor psv = new PreSlicingVisitor(this.targetClass, preSlicingAnnotator);
+        psv.visit(currentUnit, null);
+
+        SlicingVisitor sv = new SlicingVisitor(this.targetClass);
+        sv.visit(currentUnit, null);
+
+        // Resolution and type usage share one traversal of the sliced unit
+        ResolutionInformation usedTypesInfo = new ResolutionInformation();
+        ResolutionTypeUsageVisitor rtuv = new ResolutionTypeUsageVisitor(resolutionAnnotator, usedTypesInfo);
+        rtuv.visit(currentUnit, null);
+
+        Set<String> usedTypes = usedTypesInfo.getAllTypes();
+        UnusedImportsVisitor uiv = new UnusedImportsVisitor(usedTypes, config.isKeepAsteriskImports());
+        uiv.visit(currentUnit, null);
+
+        processed.put(currentUnit, KeepMarks.current().getVersion(currentUnit));
+    }
+
+    private static boolean needsProcessing(CompilationUnit unit, Map<CompilationUnit, Integer> processed) {
+        Integer version = processed.get(unit);
+        return version == null || version != KeepMarks.current().getVersion(unit);
+    }
+
 }
@@ -3,7 +3,6 @@ package de.upb.sse.jess.annotation;
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.body.*;
-import com.github.javaparser.ast.expr.AnnotationExpr;
 import com.github.javaparser.ast.nodeTypes.NodeWithAnnotations;
 import com.github.javaparser.resolution.declarations.*;
 import com.github.javaparser.resolution.types.ResolvedReferenceType;
@@ -20,11 +19,26 @@ public class Annotator {
     public static final String KEEP_ALL_ANNOTATION = "KeepAll";
     public static final String TARGET_METHOD_ANNOTATION = "TargetMethod";
     private final Map<String, CompilationUnit> annotatedUnits = new HashMap<>();
+    private final KeepMarks keepMarks = KeepMarks.current();
 
     public Map<String, CompilationUnit> getAnnotatedUnits() {
         return annotatedUnits;
     }
 
+    // Keep marks of the current session (see KeepMarks)
+
+    public static boolean isKeep(Node n) {
+        return KeepMarks.current().isKeep(n);
+    }
+
+    public static boolean isKeepAll(Node n) {
+        return KeepMarks.current().isKeepAll(n);
+    }
+
+    public static boolean isKept(Node n) {
+        return KeepMarks.current().isKept(n);
+    }
+
     public void keep(CompilationUnit cu) {
         Optional<TypeDeclaration> typeDecOpt = cu.findFirst(TypeDeclaration.class);
         if (typeDecOpt.isEmpty()) return;
@@ -227,21 +241,7 @@ public class Annotator {
     }
 
     private void annotate(NodeWithAnnotations<?> node, boolean keepAll) {
-        if(node.isAnnotationPresent(KEEP_ALL_ANNOTATION)) return;
-
-        if (keepAll) {
-            Optional<AnnotationExpr> keepAnnotationOpt = node.getAnnotationByName(KEEP_ANNOTATION);
-            if (keepAnnotationOpt.isEmpty()) {
-                node.addMarkerAnnotation(KEEP_ALL_ANNOTATION);
-            } else {
-                AnnotationExpr keepAnnotation = keepAnnotationOpt.get();
-                keepAnnotation.setName(KEEP_ALL_ANNOTATION);
-            }
-        } else {
-            if (node.isAnnotationPresent(KEEP_ANNOTATION)) return;
-
-            node.addMarkerAnnotation(KEEP_ANNOTATION);
-        }
+        keepMarks.mark((Node) node, keepAll);
     }
 
     private void annotateFunctionalInterfaces(JavaParserClassDeclaration jpcd) {
@@ -0,0 +1,62 @@
+package de.upb.sse.jess.annotation;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Keep marks of one slicing session, stored beside the AST in a table keyed by node identity instead of as
+ * {@code @Keep}/{@code @KeepAll} marker annotations. The marks never end up in the generated sources, so no
+ * removal pass is needed, and units marked in one session carry no marks into the next.
+ *
+ * Each thread has a current session (see {@link #setCurrent}), which {@link Annotator} writes to and the
+ * slicing visitors read from.
+ */
+public class KeepMarks {
+    private static final ThreadLocal<KeepMarks> current = ThreadLocal.withInitial(KeepMarks::new);
+
+    private enum Mark { KEEP, KEEP_ALL }
+
+    private final Map<Node, Mark> marks = new IdentityHashMap<>();
+    private final Map<CompilationUnit, Integer> versions = new IdentityHashMap<>();
+
+    public static KeepMarks current() {
+        return current.get();
+    }
+
+    public static void setCurrent(KeepMarks keepMarks) {
+        current.set(keepMarks);
+    }
+
+    /**
+     * Keep the signature only ({@code keepAll == false}) or the whole node. A node kept entirely stays so.
+     */
+    public void mark(Node node, boolean keepAll) {
+        Mark previous = marks.get(node);
+        if (previous == Mark.KEEP_ALL || (previous == Mark.KEEP && !keepAll)) return;
+
+        marks.put(node, keepAll ? Mark.KEEP_ALL : Mark.KEEP);
+        node.findCompilationUnit().ifPresent(cu -> versions.merge(cu, 1, Integer::sum));
+    }
+
+    public boolean isKeep(Node node) {
+        return marks.get(node) == Mark.KEEP;
+    }
+
+    public boolean isKeepAll(Node node) {
+        return marks.get(node) == Mark.KEEP_ALL;
+    }
+
+    public boolean isKept(Node node) {
+        return marks.containsKey(node);
+    }
+
+    /**
+     * Number of mark changes of nodes in the unit; changes whenever a node in it is newly marked or upgraded.
+     */
+    public int getVersion(CompilationUnit cu) {
+        return versions.getOrDefault(cu, 0);
+    }
+}
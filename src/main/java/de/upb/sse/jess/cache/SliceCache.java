@@ -0,0 +1,173 @@
+package de.upb.sse.jess.cache;
+
+import de.upb.sse.jess.util.FileUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed on-disk cache for slicing results.
+ *
+ * An entry is addressed by a key derived from the target file content, the kept method signatures and
+ * the configuration fingerprint, which also covers the files the stubber reads as context (see
+ * {@code Jess.getCacheFingerprint}). Each entry records the files of the slice's dependency closure together
+ * with their content hashes, so a hit is only served if none of those files changed since it was stored.
+ *
+ * Layout of an entry: {@code <cacheDir>/<key>/entry.properties}, {@code <key>/gen/**} (sliced and stubbed
+ * sources) and {@code <key>/classes/**} (compiler output).
+ */
+public class SliceCache {
+    private static final String ENTRY_FILE = "entry.properties";
+    private static final String GEN_DIR = "gen";
+    private static final String CLASSES_DIR = "classes";
+    private static final String DEP_PREFIX = "dep.";
+
+    private final Path cacheDir;
+    private int hits = 0;
+    private int misses = 0;
+
+    public SliceCache(Path cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    /**
+     * Cached outcome of a single slicing run.
+     */
+    public static class Entry {
+        public final int exitCode;
+        public final String compilationErrors;
+        public final List<Path> dependencies;
+
+        public Entry(int exitCode, String compilationErrors) {
+            this(exitCode, compilationErrors, Collections.emptyList());
+        }
+
+        public Entry(int exitCode, String compilationErrors, List<Path> dependencies) {
+            this.exitCode = exitCode;
+            this.compilationErrors = compilationErrors;
+            this.dependencies = dependencies;
+        }
+    }
+
+    /**
+     * Computes the cache key for a target file, its kept signatures and a configuration fingerprint.
+     */
+    public String key(Path targetFile, Collection<String> keptSignatures, String configFingerprint) throws IOException {
+        StringBuilder sb = new StringBuilder(hashFile(targetFile)).append('\0');
+        for (String sig : keptSignatures) {
+            sb.append(sig).append('\0');
+        }
+        sb.append(configFingerprint);
+        return FileUtil.contentHash(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Restores a cached entry into the given source and class output directories.
+     *
+     * @return the cached entry, or null if there is no valid entry for the key
+     */
+    public Entry restore(String key, Path srcOutput, Path classOutput) {
+        Path entryDir = cacheDir.resolve(key);
+        Path entryFile = entryDir.resolve(ENTRY_FILE);
+        if (!Files.isRegularFile(entryFile)) {
+            misses++;
+            return null;
+        }
+
+        try {
+            Properties props = new Properties();
+            try (InputStream in = Files.newInputStream(entryFile)) {
+                props.load(in);
+            }
+
+            // Dependency closure must be unchanged, otherwise the slice could differ
+            List<Path> dependencies = new ArrayList<>();
+            for (String name : props.stringPropertyNames()) {
+                if (!name.startsWith(DEP_PREFIX)) continue;
+                Path dep = Path.of(name.substring(DEP_PREFIX.length()));
+                if (!Files.isRegularFile(dep) || !hashFile(dep).equals(props.getProperty(name))) {
+                    misses++;
+                    return null;
+                }
+                dependencies.add(dep);
+            }
+
+            replaceDirectory(entryDir.resolve(GEN_DIR), srcOutput);
+            replaceDirectory(entryDir.resolve(CLASSES_DIR), classOutput);
+
+            hits++;
+            return new Entry(Integer.parseInt(props.getProperty("exitCode", "2")), props.getProperty("compilationErrors", ""), dependencies);
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[SliceCache] Failed to restore entry " + key + ": " + e.getMessage());
+            misses++;
+            return null;
+        }
+    }
+
+    /**
+     * Stores the current source and class output directories as the entry for the given key.
+     *
+     * @param dependencies source files the slice was computed from (target file and its dependency closure)
+     */
+    public void store(String key, Collection<Path> dependencies, Path srcOutput, Path classOutput, Entry entry) {
+        Path entryDir = cacheDir.resolve(key);
+        try {
+            Properties props = new Properties();
+            props.setProperty("exitCode", String.valueOf(entry.exitCode));
+            props.setProperty("compilationErrors", entry.compilationErrors == null ? "" : entry.compilationErrors);
+            for (Path dep : dependencies) {
+                if (!Files.isRegularFile(dep)) continue;
+                props.setProperty(DEP_PREFIX + dep.toAbsolutePath().normalize(), hashFile(dep));
+            }
+
+            replaceDirectory(srcOutput, entryDir.resolve(GEN_DIR));
+            replaceDirectory(classOutput, entryDir.resolve(CLASSES_DIR));
+
+            // Entry file is written last so that partially written entries are never served
+            try (OutputStream out = Files.newOutputStream(entryDir.resolve(ENTRY_FILE))) {
+                props.store(out, "jess slice cache entry");
+            }
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[SliceCache] Failed to store entry " + key + ": " + e.getMessage());
+            FileUtil.deleteRecursively(entryDir.toFile());
+        }
+    }
+
+    public int getHits() {
+        return hits;
+    }
+
+    public int getMisses() {
+        return misses;
+    }
+
+    private static void replaceDirectory(Path from, Path to) throws IOException {
+        File toFile = to.toFile();
+        if (toFile.exists()) FileUtil.deleteRecursively(toFile);
+        Files.createDirectories(to);
+        if (!Files.isDirectory(from)) return;
+
+        try (Stream<Path> files = Files.walk(from)) {
+            for (Path p : (Iterable<Path>) files::iterator) {
+                Path target = to.resolve(from.relativize(p).toString());
+                if (Files.isDirectory(p)) {
+                    Files.createDirectories(target);
+                } else {
+                    Files.copy(p, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            }
+        }
+    }
+
+    private static String hashFile(Path file) throws IOException {
+        return FileUtil.contentHash(file);
+    }
+}
@@ -29,6 +29,27 @@ public class JessConfiguration {
     // Source roots for Spoon stubber (same as used for JavaParser's combinedTypeSolver)
     private List<Path> sourceRoots = new ArrayList<>();
 
+    // On-disk slice cache directory; null disables caching
+    private Path sliceCacheDir = null;
+
+    // Stack size in bytes of the threads running symbol resolution and Spoon model building; 0 runs on the caller
+    private long resolutionStackSize = 64L * 1024 * 1024;
+
+    // Run the Spoon retry builds concurrently instead of one after another, taking the best one within the budget
+    private boolean speculativeModelBuilds = false;
+    private long modelBuildBudgetMs = 30_000;
+
+    // Feed source-root context files to Spoon as declarations-only copies (bodies removed); opt-in via
+    // jess.signatureOnlyContext. Copies are cached under <java.io.tmpdir>/jess-context and never deleted by Jess
+    private boolean signatureOnlyContext = false;
+
+    // How source roots are given to Spoon: parsed as sources, or compiled once and put on the classpath
+    public enum ContextMode { SOURCES, CLASSPATH }
+
+    private ContextMode contextMode = ContextMode.SOURCES;
+    // Prebuilt classes (e.g. target/classes or a jar) of the source roots for CLASSPATH mode; null compiles them
+    private Path contextClasspath = null;
+
     public JessConfiguration(boolean exitOnCompilationFail, boolean exitOnParsingFail, boolean looseSignatureMatching, boolean keepAsteriskImports, boolean failOnAmbiguity, boolean disableStubbing,String targetVersion) {
         this.exitOnCompilationFail = exitOnCompilationFail;
         this.exitOnParsingFail = exitOnParsingFail;
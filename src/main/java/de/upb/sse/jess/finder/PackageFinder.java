@@ -73,6 +73,18 @@ public class PackageFinder {
         }
     }
 
+    /**
+     * Declared package of a Java file without parsing it, "" for the default package.
+     */
+    public static String getPackageName(String javaFile) throws IOException {
+        String packageDec = findPackage(javaFile);
+        if (packageDec == null) return "";
+
+        Matcher m = PACKAGE_PATTERN.matcher(packageDec);
+        if (!m.find() || m.group(1) == null) return "";
+        return m.group(1);
+    }
+
     private static String getPackageRoot(String javaFile) throws IOException {
         String packageDec = findPackage(javaFile);
         if (packageDec == null) return null;
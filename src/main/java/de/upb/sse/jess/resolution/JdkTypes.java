@@ -0,0 +1,83 @@
+package de.upb.sse.jess.resolution;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Names of all classes in the runtime image of the running JDK, read once from the jrt file system.
+ * Lookups are O(1) and need neither class loading nor a type solver.
+ */
+public final class JdkTypes {
+
+    private JdkTypes() {
+    }
+
+    private static class Holder {
+        static final Set<String> QUALIFIED_NAMES;
+        static final Set<String> SIMPLE_NAMES;
+
+        static {
+            Set<String> qualifiedNames = new HashSet<>();
+            Set<String> simpleNames = new HashSet<>();
+            try {
+                FileSystem jrt = FileSystems.getFileSystem(URI.create("jrt:/"));
+                try (Stream<Path> modules = Files.list(jrt.getPath("/modules"))) {
+                    for (Path module : (Iterable<Path>) modules::iterator) {
+                        try (Stream<Path> classes = Files.walk(module)) {
+                            classes.forEach(p -> {
+                                String qualifiedName = toQualifiedName(module.relativize(p).toString());
+                                if (qualifiedName == null) return;
+                                qualifiedNames.add(qualifiedName);
+                                addSimpleNames(p.getFileName().toString(), simpleNames);
+                            });
+                        }
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                System.err.println("[JdkTypes] Could not read runtime image: " + e.getMessage());
+            }
+            QUALIFIED_NAMES = Collections.unmodifiableSet(qualifiedNames);
+            SIMPLE_NAMES = Collections.unmodifiableSet(simpleNames);
+        }
+    }
+
+    /**
+     * Whether the canonical name (member types separated by '.') denotes a JDK class.
+     */
+    public static boolean isJdkType(String qualifiedName) {
+        return qualifiedName != null && Holder.QUALIFIED_NAMES.contains(qualifiedName);
+    }
+
+    /**
+     * Simple names (including member types) of all JDK classes.
+     */
+    public static Set<String> simpleNames() {
+        return Holder.SIMPLE_NAMES;
+    }
+
+    // "java/util/Map$Entry.class" -> "java.util.Map.Entry"; null for resources, module/package-info and local/anonymous classes
+    private static String toQualifiedName(String classFile) {
+        if (!classFile.endsWith(".class") || classFile.endsWith("-info.class")) return null;
+        String binaryName = classFile.substring(0, classFile.length() - ".class".length()).replace('/', '.');
+        for (String part : binaryName.split("\\$")) {
+            if (part.isEmpty() || Character.isDigit(part.charAt(0))) return null;
+        }
+        return binaryName.replace('$', '.');
+    }
+
+    static void addSimpleNames(String classFileName, Set<String> simpleNames) {
+        if (!classFileName.endsWith(".class") || classFileName.endsWith("-info.class")) return;
+        String binaryName = classFileName.substring(0, classFileName.length() - ".class".length());
+        for (String part : binaryName.split("\\$")) {
+            if (!part.isEmpty() && !Character.isDigit(part.charAt(0))) simpleNames.add(part);
+        }
+    }
+}
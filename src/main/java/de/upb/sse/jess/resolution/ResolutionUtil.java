@@ -2,13 +2,11 @@ package de.upb.sse.jess.resolution;
 
 import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.resolution.MethodUsage;
-import com.github.javaparser.resolution.UnsolvedSymbolException;
 import com.github.javaparser.resolution.declarations.*;
 import com.github.javaparser.resolution.types.ResolvedReferenceType;
 import com.github.javaparser.resolution.types.ResolvedType;
 import com.github.javaparser.symbolsolver.javaparsermodel.declarations.JavaParserMethodDeclaration;
 import com.github.javaparser.symbolsolver.reflectionmodel.ReflectionMethodDeclaration;
-import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
 import de.upb.sse.jess.annotation.Annotator;
 import de.upb.sse.jess.util.MatchingUtil;
 
@@ -25,12 +23,8 @@ public class ResolutionUtil {
     }
 
     public static boolean isReflectiveType(String type) {
-        try {
-            new ReflectionTypeSolver().solveType(type);
-            return true;
-        } catch (UnsolvedSymbolException e) {
-            return false;
-        }
+        // Same scope as a JRE-only ReflectionTypeSolver, answered from the JDK class index
+        return (type.startsWith("java.") || type.startsWith("javax.")) && JdkTypes.isJdkType(type);
     }
 
     public static boolean isInDefaultPackage(String type) {
@@ -53,7 +47,7 @@ public class ResolutionUtil {
 
         JavaParserMethodDeclaration jmd = (JavaParserMethodDeclaration) rmd;
         MethodDeclaration md = jmd.getWrappedNode();
-        return md.isAnnotationPresent(Annotator.KEEP_ANNOTATION) || md.isAnnotationPresent(Annotator.KEEP_ALL_ANNOTATION);
+        return Annotator.isKept(md);
     }
 
     public static boolean isOverridingAbstractSuperMethod(MethodDeclaration md, String targetClass) {
@@ -159,7 +153,7 @@ public class ResolutionUtil {
                 Optional<MethodDeclaration> interfaceMethodDeclarationOpt = interfaceMethod.toAst(MethodDeclaration.class);
                 if (interfaceMethodDeclarationOpt.isEmpty()) continue;
                 MethodDeclaration interfaceMethodDeclaration = interfaceMethodDeclarationOpt.get();
-                if (!interfaceMethodDeclaration.isAnnotationPresent(Annotator.KEEP_ANNOTATION)) continue;
+                if (!Annotator.isKeep(interfaceMethodDeclaration)) continue;
                 return true;
             }
         }
@@ -180,7 +174,7 @@ public class ResolutionUtil {
             Optional<MethodDeclaration> interfaceMethodDeclarationOpt = enumMethod.toAst(MethodDeclaration.class);
             if (interfaceMethodDeclarationOpt.isEmpty()) continue;
             MethodDeclaration interfaceMethodDeclaration = interfaceMethodDeclarationOpt.get();
-            if (!interfaceMethodDeclaration.isAnnotationPresent(Annotator.KEEP_ANNOTATION)) continue;
+            if (!Annotator.isKeep(interfaceMethodDeclaration)) continue;
             return true;
         }
         return false;
@@ -1,5 +1,6 @@
 package de.upb.sse.jess.resolution;
 
+import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
 import com.github.javaparser.ast.body.EnumDeclaration;
 import com.github.javaparser.ast.body.TypeDeclaration;
@@ -15,68 +16,118 @@ import com.github.javaparser.symbolsolver.reflectionmodel.ReflectionEnumDeclarat
 import com.github.javaparser.symbolsolver.reflectionmodel.ReflectionInterfaceDeclaration;
 import de.upb.sse.jess.Jess;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public class RobustAncestorResolver {
 
+    /**
+     * Memo table of ancestor queries per type declaration. Source declarations are keyed by the identity of
+     * their AST node (like {@link RobustResolver}'s memo tables), library declarations by qualified name.
+     * Cleared together with {@link RobustResolver#clearCache()}, i.e. once per pipeline.
+     */
+    private static class Memo<T> {
+        private final Map<Node, T> byNode = Collections.synchronizedMap(new IdentityHashMap<>());
+        private final Map<String, T> byName = new ConcurrentHashMap<>();
+
+        T get(ResolvedReferenceTypeDeclaration typeDec, Supplier<T> resolver) {
+            TypeDeclaration<?> node = getWrappedNode(typeDec);
+            String name = node == null ? identity(typeDec) : null;
+            T cached = node != null ? byNode.get(node) : byName.get(name);
+            if (cached != null) return cached;
+
+            T resolved = resolver.get();
+            if (node != null) byNode.put(node, resolved);
+            else byName.put(name, resolved);
+            return resolved;
+        }
+
+        void clear() {
+            byNode.clear();
+            byName.clear();
+        }
+    }
+
+    private static final Memo<List<ResolvedReferenceType>> ALL_INTERFACES = new Memo<>();
+    private static final Memo<List<ResolvedReferenceType>> INTERFACES = new Memo<>();
+    private static final Memo<List<ResolvedReferenceType>> DIRECT_INTERFACES = new Memo<>();
+    private static final Memo<Optional<ResolvedReferenceType>> SUPERCLASS = new Memo<>();
+
+    static void clearCache() {
+        ALL_INTERFACES.clear();
+        INTERFACES.clear();
+        DIRECT_INTERFACES.clear();
+        SUPERCLASS.clear();
+    }
+
     // resolve all interfaces of an enum
     public static List<ResolvedReferenceType> tryResolveAllInterfaces(ResolvedEnumDeclaration red) {
-        return robustlyResolveAllInterfaces(red);
+        return ALL_INTERFACES.get(red, () -> robustlyResolveAllInterfaces(red));
     }
 
     // resolve all interfaces of a class
     public static List<ResolvedReferenceType> tryResolveAllInterfaces(ResolvedClassDeclaration rcd) {
-        try {
-            return rcd.getAllInterfaces();
-        } catch (Exception e) {
-            return robustlyResolveAllInterfaces(rcd);
-        }
+        return ALL_INTERFACES.get(rcd, () -> {
+            try {
+                return Collections.unmodifiableList(rcd.getAllInterfaces());
+            } catch (Exception e) {
+                return robustlyResolveAllInterfaces(rcd);
+            }
+        });
     }
 
     // resolve all extended interfaces of an interface
     public static List<ResolvedReferenceType> tryResolveAllInterfaces(ResolvedInterfaceDeclaration rcd) {
-        try {
-            return rcd.getInterfacesExtended();
-        } catch (Exception e) {
-            return robustlyResolveAllInterfaces(rcd);
-        }
+        return ALL_INTERFACES.get(rcd, () -> {
+            try {
+                return Collections.unmodifiableList(rcd.getInterfacesExtended());
+            } catch (Exception e) {
+                return robustlyResolveAllInterfaces(rcd);
+            }
+        });
     }
 
     // resolve direct interfaces of an enum
     public static List<ResolvedReferenceType> tryResolveInterfaces(ResolvedEnumDeclaration red) {
-        return robustlyResolveDirectInterfaces(red);
+        return INTERFACES.get(red, () -> robustlyResolveDirectInterfaces(red));
     }
 
     // resolve direct interfaces of a class
     public static List<ResolvedReferenceType> tryResolveInterfaces(ResolvedClassDeclaration rcd) {
-        try {
-            return rcd.getInterfaces();
-        } catch (Exception e) {
-            return robustlyResolveDirectInterfaces(rcd);
-        }
+        return INTERFACES.get(rcd, () -> {
+            try {
+                return Collections.unmodifiableList(rcd.getInterfaces());
+            } catch (Exception e) {
+                return robustlyResolveDirectInterfaces(rcd);
+            }
+        });
     }
 
     // resolve direct superclass of a class
     public static Optional<ResolvedReferenceType> tryResolveSuperclass(ResolvedClassDeclaration rcd) {
-        try {
-            return rcd.getSuperClass();
-        } catch (Exception e) {
-            return robustlyResolveDirectSuperclass(rcd);
-        }
+        return SUPERCLASS.get(rcd, () -> {
+            try {
+                return rcd.getSuperClass();
+            } catch (Exception e) {
+                return robustlyResolveDirectSuperclass(rcd);
+            }
+        });
     }
 
     private static List<ResolvedReferenceType> robustlyResolveAllInterfaces(ResolvedReferenceTypeDeclaration typeDec) {
-        List<ResolvedReferenceType> allInterfaces = new ArrayList<>();
+        Set<ResolvedReferenceType> allInterfaces = new LinkedHashSet<>();
 
-        List<ResolvedReferenceTypeDeclaration> worklist = new ArrayList<>();
+        Deque<ResolvedReferenceTypeDeclaration> worklist = new ArrayDeque<>();
         worklist.add(typeDec);
+        // Circular hierarchies (e.g. broken or partially resolved sources) would otherwise never terminate
+        Set<String> visited = new HashSet<>();
 
-        do {
-            ResolvedReferenceTypeDeclaration currTypeDec = worklist.remove(0);
+        while (!worklist.isEmpty()) {
+            ResolvedReferenceTypeDeclaration currTypeDec = worklist.poll();
+            if (!visited.add(identity(currTypeDec))) continue;
             List<ResolvedReferenceType> currInterfaces = robustlyResolveDirectInterfaces(currTypeDec);
             allInterfaces.addAll(currInterfaces);
 
@@ -89,20 +140,19 @@ public class RobustAncestorResolver {
             List<ResolvedReferenceType> mergedAncestors = new ArrayList<>(currInterfaces);
             directSuperclassOpt.ifPresent(mergedAncestors::add);
 
-            List<ResolvedReferenceTypeDeclaration> nextLayerTypeDecs = mergedAncestors.stream()
-                    .filter(ci -> ci.getTypeDeclaration().isPresent())
-                    .map(ci -> ci.getTypeDeclaration().get())
-                    .distinct()
-                    .collect(Collectors.toList());
-
-            worklist.addAll(nextLayerTypeDecs);
-
-        } while (!worklist.isEmpty());
+            for (ResolvedReferenceType ancestor : mergedAncestors) {
+                ancestor.getTypeDeclaration().ifPresent(worklist::add);
+            }
+        }
 
-        return allInterfaces.stream().distinct().collect(Collectors.toList());
+        return Collections.unmodifiableList(new ArrayList<>(allInterfaces));
     }
 
     private static List<ResolvedReferenceType> robustlyResolveDirectInterfaces(ResolvedReferenceTypeDeclaration typeDec) {
+        return DIRECT_INTERFACES.get(typeDec, () -> resolveDirectInterfaces(typeDec));
+    }
+
+    private static List<ResolvedReferenceType> resolveDirectInterfaces(ResolvedReferenceTypeDeclaration typeDec) {
         List<ResolvedReferenceType> resolvedInterfaces = new ArrayList<>();
 
         if (isReflectiveType(typeDec)) {
@@ -136,7 +186,7 @@ public class RobustAncestorResolver {
             }
         }
 
-        return resolvedInterfaces.stream().distinct().collect(Collectors.toList());
+        return Collections.unmodifiableList(resolvedInterfaces.stream().distinct().collect(Collectors.toList()));
     }
 
     private static Optional<ResolvedReferenceType> robustlyResolveDirectSuperclass(ResolvedClassDeclaration typeDec) {
@@ -160,6 +210,14 @@ public class RobustAncestorResolver {
     }
 
 
+    private static String identity(ResolvedReferenceTypeDeclaration rrtd) {
+        try {
+            return rrtd.getQualifiedName();
+        } catch (RuntimeException e) {
+            return rrtd.getClass().getName() + "@" + System.identityHashCode(rrtd);
+        }
+    }
+
     private static TypeDeclaration<?> getWrappedNode(ResolvedReferenceTypeDeclaration rrtd) {
         if (rrtd instanceof JavaParserClassDeclaration) return ((JavaParserClassDeclaration) rrtd).getWrappedNode();
         if (rrtd instanceof JavaParserEnumDeclaration) return ((JavaParserEnumDeclaration) rrtd).getWrappedNode();
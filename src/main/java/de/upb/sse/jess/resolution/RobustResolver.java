@@ -1,6 +1,7 @@
 package de.upb.sse.jess.resolution;
 
 import com.github.javaparser.ast.AccessSpecifier;
+import com.github.javaparser.ast.Node;
 import com.github.javaparser.ast.body.ConstructorDeclaration;
 import com.github.javaparser.ast.body.EnumConstantDeclaration;
 import com.github.javaparser.ast.body.FieldDeclaration;
@@ -15,108 +16,185 @@ import com.github.javaparser.resolution.types.ResolvedReferenceType;
 import com.github.javaparser.resolution.types.ResolvedType;
 
 import java.util.*;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 public class RobustResolver {
 
-    public static ResolvedType tryResolve(Type type) {
-        try {
-            return type.resolve();
-        } catch (Exception e) {
-            return null;
+    /**
+     * Memo table of resolution results (including failures) keyed by node identity. Nodes are not
+     * structurally compared, so clones and re-parsed units are resolved again. Failures of nodes whose
+     * unit has no symbol resolver yet are not memoized, the unit may still be injected.
+     */
+    private static class Memo<T> {
+        private static final Object UNRESOLVED = new Object();
+        private final Map<Node, Object> results = Collections.synchronizedMap(new IdentityHashMap<>());
+
+        @SuppressWarnings("unchecked")
+        T get(Node node, Supplier<T> resolver) {
+            Object cached = results.get(node);
+            if (cached != null) return cached == UNRESOLVED ? null : (T) cached;
+            T resolved = resolver.get();
+            if (resolved != null) results.put(node, resolved);
+            else if (node.findRootNode().containsData(Node.SYMBOL_RESOLVER_KEY)) results.put(node, UNRESOLVED);
+            return resolved;
         }
+
+        void clear() {
+            results.clear();
+        }
+    }
+
+    private static final Memo<ResolvedType> TYPES = new Memo<>();
+    private static final Memo<ResolvedType> EXPRESSION_TYPES = new Memo<>();
+    private static final Memo<ResolvedValueDeclaration> VALUES = new Memo<>();
+    private static final Memo<ResolvedMethodDeclaration> METHODS = new Memo<>();
+    private static final Memo<ResolvedConstructorDeclaration> CONSTRUCTORS = new Memo<>();
+
+    /**
+     * Forget all memoized results. Must be called whenever the symbol solver or the ASTs of a
+     * pipeline change, i.e. at the start and end of every slicing/stubbing run.
+     */
+    public static void clearCache() {
+        TYPES.clear();
+        EXPRESSION_TYPES.clear();
+        VALUES.clear();
+        METHODS.clear();
+        CONSTRUCTORS.clear();
+        RobustAncestorResolver.clearCache();
+    }
+
+    // Fast path: names that no type solver knows would only end in an UnsolvedSymbolException
+    private static boolean isCertainlyUnresolvable(ClassOrInterfaceType cit) {
+        TypeIndex index = TypeIndex.getCurrent();
+        return index != null && !index.mayResolve(cit);
+    }
+
+    public static ResolvedType tryResolve(Type type) {
+        return TYPES.get(type, () -> {
+            if (type.isClassOrInterfaceType() && isCertainlyUnresolvable(type.asClassOrInterfaceType())) return null;
+            try {
+                return type.resolve();
+            } catch (Exception e) {
+                return null;
+            }
+        });
     }
 
 
     public static ResolvedType tryResolve(Expression exp) {
-        try {
-            return exp.calculateResolvedType();
-        } catch (Exception e) {
-            return null;
-        }
+        return EXPRESSION_TYPES.get(exp, () -> {
+            try {
+                return exp.calculateResolvedType();
+            } catch (Exception e) {
+                return null;
+            }
+        });
     }
 
     public static ResolvedType tryResolve(ClassOrInterfaceType cit) {
-        try {
-            return cit.resolve();
-        } catch (Exception e) {
-            return null;
-        }
+        return TYPES.get(cit, () -> {
+            if (isCertainlyUnresolvable(cit)) return null;
+            try {
+                return cit.resolve();
+            } catch (Exception e) {
+                return null;
+            }
+        });
     }
 
     public static ResolvedValueDeclaration tryResolve(FieldAccessExpr fae) {
-        try {
-            return fae.resolve();
-        } catch (Exception e) {
-            return null;
-        }
+        return VALUES.get(fae, () -> {
+            try {
+                return fae.resolve();
+            } catch (Exception e) {
+                return null;
+            }
+        });
     }
 
     public static ResolvedValueDeclaration tryResolve(FieldDeclaration fd) {
-        try {
-            return fd.resolve();
-        } catch (Exception e) {
-            return null;
-        }
+        return VALUES.get(fd, () -> {
+            try {
+                return fd.resolve();
+            } catch (Exception e) {
+                return null;
+            }
+        });
     }
 
     public static ResolvedValueDeclaration tryResolve(NameExpr ne) {
-        try {
-            return ne.resolve();
-        } catch (Exception e) {
-            return null;
-        }
+        return VALUES.get(ne, () -> {
+            try {
+                return ne.resolve();
+            } catch (Exception e) {
+                return null;
+            }
+        });
     }
 
     public static ResolvedMethodDeclaration tryResolve(MethodCallExpr mce) {
         // TODO: if not resolvable, try to match name and amount of arguments
 //            System.out.println(mce);
 //            System.out.println(mce.getArguments());
-        try {
-            return mce.resolve();
-        } catch (Exception e) {
-            return InternalTypeSolver.tryResolve(mce);
-        }
+        return METHODS.get(mce, () -> {
+            try {
+                return mce.resolve();
+            } catch (Exception e) {
+                return InternalTypeSolver.tryResolve(mce);
+            }
+        });
     }
 
     public static ResolvedMethodDeclaration tryResolve(MethodReferenceExpr mre) {
-        try {
-            return mre.resolve();
-        } catch (Exception e) {
-            return null;
-        }
+        return METHODS.get(mre, () -> {
+            try {
+                return mre.resolve();
+            } catch (Exception e) {
+                return null;
+            }
+        });
     }
 
     public static ResolvedMethodDeclaration tryResolve(MethodDeclaration md) {
-        try {
-            return md.resolve();
-        } catch (Exception e) {
-            return null;
-        }
+        return METHODS.get(md, () -> {
+            try {
+                return md.resolve();
+            } catch (Exception e) {
+                return null;
+            }
+        });
     }
 
     public static ResolvedConstructorDeclaration tryResolve(ConstructorDeclaration cd) {
-        try {
-            return cd.resolve();
-        } catch (Exception e) {
-            return null;
-        }
+        return CONSTRUCTORS.get(cd, () -> {
+            try {
+                return cd.resolve();
+            } catch (Exception e) {
+                return null;
+            }
+        });
     }
 
     public static ResolvedConstructorDeclaration tryResolve(ObjectCreationExpr oce) {
-        try {
-            return oce.resolve();
-        } catch (Exception e) {
-            return null;
-        }
+        return CONSTRUCTORS.get(oce, () -> {
+            if (isCertainlyUnresolvable(oce.getType())) return null;
+            try {
+                return oce.resolve();
+            } catch (Exception e) {
+                return null;
+            }
+        });
     }
 
     public static ResolvedConstructorDeclaration tryResolve(ExplicitConstructorInvocationStmt ecis) {
-        try {
-            return ecis.resolve();
-        } catch (Exception e) {
-            return null;
-        }
+        return CONSTRUCTORS.get(ecis, () -> {
+            try {
+                return ecis.resolve();
+            } catch (Exception e) {
+                return null;
+            }
+        });
     }
 
     public static ResolvedAnnotationDeclaration tryResolve(SingleMemberAnnotationExpr smae) {
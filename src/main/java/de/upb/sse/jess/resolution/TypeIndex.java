@@ -0,0 +1,152 @@
+package de.upb.sse.jess.resolution;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.nodeTypes.NodeWithTypeParameters;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.ast.type.TypeParameter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Simple names of all types the symbol solver could possibly find: types declared in the package roots,
+ * classes in the jars and JDK classes. A simple type name that is in none of these, is no type variable
+ * and is not declared in its own compilation unit cannot be resolved, so {@link RobustResolver} skips
+ * resolve() (and the exception it would throw) for it.
+ *
+ * Declared names are over-approximated (a regex over the source text), which only costs a regular resolve().
+ */
+public class TypeIndex {
+    private static final Pattern TYPE_DECLARATION = Pattern.compile("\\b(?:class|interface|enum|record)\\s+([A-Za-z_$][\\w$]*)");
+
+    // Per-file/jar names, reused as long as the file is unchanged (Jess is re-created for every method)
+    private static final Map<Path, CachedNames> namesCache = new ConcurrentHashMap<>();
+    private static volatile TypeIndex current;
+
+    private static class CachedNames {
+        final long lastModified;
+        final long size;
+        final Set<String> names;
+
+        CachedNames(long lastModified, long size, Set<String> names) {
+            this.lastModified = lastModified;
+            this.size = size;
+            this.names = names;
+        }
+    }
+
+    private final List<Path> packageRoots;
+    private final List<Path> jars;
+    private Set<String> simpleNames;
+    private boolean complete = true;
+
+    public TypeIndex(Collection<Path> packageRoots, Collection<Path> jars) {
+        this.packageRoots = new ArrayList<>(packageRoots);
+        this.jars = new ArrayList<>(jars);
+    }
+
+    /**
+     * Index used by {@link RobustResolver}, matching the current symbol solver; null disables the pre-check.
+     */
+    public static void setCurrent(TypeIndex index) {
+        current = index;
+    }
+
+    public static TypeIndex getCurrent() {
+        return current;
+    }
+
+    /**
+     * False if the type can certainly not be resolved.
+     */
+    public boolean mayResolve(ClassOrInterfaceType type) {
+        if (type.getScope().isPresent()) return true;
+        String name = type.getNameAsString();
+        Set<String> names = getSimpleNames();
+        if (!complete || JdkTypes.simpleNames().isEmpty()) return true;
+        if (names.contains(name) || JdkTypes.simpleNames().contains(name)) return true;
+        if (isTypeParameterInScope(type, name)) return true;
+
+        Optional<CompilationUnit> cu = type.findCompilationUnit();
+        return cu.isEmpty() || cu.get().findFirst(TypeDeclaration.class, td -> td.getNameAsString().equals(name)).isPresent();
+    }
+
+    private synchronized Set<String> getSimpleNames() {
+        if (simpleNames != null) return simpleNames;
+
+        Set<String> names = new HashSet<>();
+        for (Path root : packageRoots) {
+            try (Stream<Path> files = Files.walk(root)) {
+                files.filter(p -> p.toString().endsWith(".java")).forEach(p -> names.addAll(cachedNames(p, false)));
+            } catch (IOException | RuntimeException e) {
+                System.err.println("[TypeIndex] Could not index " + root + ": " + e.getMessage());
+                complete = false;
+            }
+        }
+        for (Path jar : jars) names.addAll(cachedNames(jar, true));
+        if (names.contains(null)) {
+            names.remove(null);
+            complete = false;
+        }
+        simpleNames = names;
+        return simpleNames;
+    }
+
+    private static Set<String> cachedNames(Path file, boolean jar) {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(file, BasicFileAttributes.class);
+            long lastModified = attrs.lastModifiedTime().toMillis();
+            CachedNames cached = namesCache.get(file);
+            if (cached != null && cached.lastModified == lastModified && cached.size == attrs.size()) return cached.names;
+
+            Set<String> names = jar ? readJar(file) : readSource(file);
+            namesCache.put(file, new CachedNames(lastModified, attrs.size(), names));
+            return names;
+        } catch (IOException | RuntimeException e) {
+            // Unknown content, the index can no longer prove that a name is unresolvable
+            return Collections.singleton(null);
+        }
+    }
+
+    private static Set<String> readSource(Path javaFile) throws IOException {
+        Set<String> names = new HashSet<>();
+        // Latin-1 never fails to decode; type names of interest are ASCII anyway
+        Matcher m = TYPE_DECLARATION.matcher(new String(Files.readAllBytes(javaFile), StandardCharsets.ISO_8859_1));
+        while (m.find()) names.add(m.group(1));
+        return names;
+    }
+
+    private static Set<String> readJar(Path jar) throws IOException {
+        Set<String> names = new HashSet<>();
+        try (JarFile jarFile = new JarFile(jar.toFile())) {
+            Enumeration<JarEntry> entries = jarFile.entries();
+            while (entries.hasMoreElements()) {
+                String entry = entries.nextElement().getName();
+                JdkTypes.addSimpleNames(entry.substring(entry.lastIndexOf('/') + 1), names);
+            }
+        }
+        return names;
+    }
+
+    private static boolean isTypeParameterInScope(Node node, String name) {
+        for (Node n = node; n != null; n = n.getParentNode().orElse(null)) {
+            if (!(n instanceof NodeWithTypeParameters)) continue;
+            for (TypeParameter tp : ((NodeWithTypeParameters<?>) n).getTypeParameters()) {
+                if (tp.getNameAsString().equals(name)) return true;
+            }
+        }
+        return false;
+    }
+}
@@ -1,13 +1,17 @@
 package de.upb.sse.jess.stubbing;
 
 import de.upb.sse.jess.configuration.JessConfiguration;
+import de.upb.sse.jess.resolution.JdkTypes;
 import de.upb.sse.jess.stubbing.Stubber;
 import de.upb.sse.jess.stubbing.spoon.collector.SpoonCollector;
+import de.upb.sse.jess.stubbing.spoon.context.CompiledContext;
+import de.upb.sse.jess.stubbing.spoon.context.SignatureOnlyContext;
 import de.upb.sse.jess.stubbing.spoon.generate.SpoonStubber;
 import de.upb.sse.jess.stubbing.spoon.plan.FieldStubPlan;
 import de.upb.sse.jess.stubbing.spoon.plan.MethodStubPlan;
 import de.upb.sse.jess.stubbing.spoon.plan.TypeStubPlan;
 import de.upb.sse.jess.stubbing.spoon.plan.ConstructorStubPlan;
+import de.upb.sse.jess.util.LargeStackExecutor;
 import spoon.Launcher;
 import spoon.compiler.ModelBuildingException;
 import spoon.reflect.CtModel;
@@ -35,6 +39,7 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
 import java.util.Objects;
+import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Pattern;
@@ -46,6 +51,8 @@ public final class SpoonStubbingRunner implements Stubber {
     private final JessConfiguration cfg;
     private final List<Path> sourceRoots;
     private final boolean conservativeMode;
+    private final SignatureOnlyContext signatureOnlyContext; // null feeds context files with their bodies
+    private Path compiledContext; // class directory or jar of the source roots in classpath context mode
     
     // Static cache for source root files (safe: original source files don't change)
     // Key: normalized file path string, Value: set of FQNs
@@ -63,6 +70,7 @@ public final class SpoonStubbingRunner implements Stubber {
     private static int sliceOnlyModelCount = 0;
     private static long totalModelBuildTime = 0;
     private static int totalModelBuilds = 0;
+    private static int modelRebuilds = 0; // builds repeated after an "already defined" conflict
 
     public SpoonStubbingRunner(JessConfiguration cfg) {
         this.cfg = cfg;
@@ -70,6 +78,9 @@ public final class SpoonStubbingRunner implements Stubber {
             ? cfg.getSourceRoots() 
             : java.util.Collections.emptyList();
         this.conservativeMode = cfg.isMinimalStubbing(); // Use minimalStubbing directly
+        this.signatureOnlyContext = cfg.isSignatureOnlyContext()
+            ? new SignatureOnlyContext(Paths.get(System.getProperty("java.io.tmpdir"), "jess-context"))
+            : null;
     }
 
     @Override
@@ -99,6 +110,23 @@ public final class SpoonStubbingRunner implements Stubber {
             env.setSourceClasspath(classpathJars.stream().map(Path::toString).toArray(String[]::new));
         }
 
+        // Classpath context mode: source roots are resolved from their compiled classes instead of parsed
+        compiledContext = null;
+        if (cfg.getContextMode() == JessConfiguration.ContextMode.CLASSPATH && !sourceRoots.isEmpty()) {
+            compiledContext = cfg.getContextClasspath() != null
+                ? cfg.getContextClasspath()
+                : CompiledContext.forRoots(sourceRoots, classpathJars == null ? List.of() : classpathJars, complianceLevel,
+                    Paths.get(System.getProperty("java.io.tmpdir"), "jess-context-classes")).orElse(null);
+            if (compiledContext != null) {
+                List<String> classpath = new ArrayList<>();
+                if (env.getSourceClasspath() != null) classpath.addAll(Arrays.asList(env.getSourceClasspath()));
+                classpath.add(compiledContext.toString());
+                env.setSourceClasspath(classpath.toArray(new String[0]));
+            } else {
+                System.err.println("[SpoonStubbingRunner] No compiled context available, parsing source roots instead");
+            }
+        }
+
         // Add source roots with FQN filtering (if any source roots provided)
         // This ensures sliced types are canonical - original files for sliced types are not added
         addSourceRootsWithFqnFilter(launcher, slicedSrcDir);
@@ -114,6 +142,7 @@ public final class SpoonStubbingRunner implements Stubber {
             + " conservative=" + conservativeMode
             + " noClasspath=" + env.getNoClasspath()
             + " sourceRoots=" + sourceRoots.size()
+            + (compiledContext != null ? " compiledContext=" + compiledContext : "")
             + " jars=" + (classpathJars == null ? 0 : classpathJars.size())
         );
         
@@ -129,7 +158,7 @@ public final class SpoonStubbingRunner implements Stubber {
         boolean retryWithoutSourceRoots = false;
         Set<String> conflictingFqns = null;
         try {
-            launcher.buildModel();
+            buildModel(launcher);
             long modelBuildElapsed = System.currentTimeMillis() - modelBuildStart;
             totalModelBuildTime += modelBuildElapsed;
             totalModelBuilds++;
@@ -138,6 +167,7 @@ public final class SpoonStubbingRunner implements Stubber {
             System.err.println("[SpoonStubbingRunner] StackOverflowError during model building - likely due to circular type dependencies");
             System.err.println("[SpoonStubbingRunner] Attempting to continue with partial model...");
         } catch (ModelBuildingException e) {
+            // Duplicates are filtered out up front (see definesKnownType), this ladder is only a fallback
             // CRITICAL FIX: Handle "type already defined" errors more intelligently
             // Strategy: 
             // 1. First, check if conflicting types are in gen/ (stub files) - delete those and retry with full context
@@ -145,6 +175,7 @@ public final class SpoonStubbingRunner implements Stubber {
             // 3. Only as last resort, drop all source roots (slice-only)
             String errorMsg = e.getMessage();
             if (errorMsg != null && errorMsg.contains("already defined")) {
+                modelRebuilds++;
                 System.err.println("[SpoonStubbingRunner] ModelBuildingException (unexpected with FQN filtering): " + errorMsg);
                 conflictingFqns = extractConflictingFqns(errorMsg);
                 if (conflictingFqns != null && !conflictingFqns.isEmpty()) {
@@ -184,31 +215,42 @@ public final class SpoonStubbingRunner implements Stubber {
             }
         }
         
-        // CRITICAL FIX: If we deleted stub files, retry with full source roots
-        CtModel finalModel;
-        Factory finalFactory;
+        CtModel finalModel = null;
+        Factory finalFactory = null;
         boolean usedContext = false;
-        if (conflictingFqns != null && !conflictingFqns.isEmpty() && !retryWithoutSourceRoots) {
+        boolean hasConflicts = conflictingFqns != null && !conflictingFqns.isEmpty();
+        boolean speculate = hasConflicts && cfg.isSpeculativeModelBuilds();
+        if (speculate && SpeculativeBuilds.abandonedStillRunning()) {
+            System.out.println("[SpoonStubbingRunner] Abandoned concurrent model builds still running, retrying sequentially");
+            speculate = false;
+        }
+        if (speculate) {
+            // Run the ladder's builds concurrently and take the most complete one within the budget
+            ModelAttempt attempt = buildModelSpeculatively(env, slicedSrcDir, conflictingFqns);
+            if (attempt != null) {
+                finalModel = attempt.launcher.getModel();
+                finalFactory = attempt.launcher.getFactory();
+                usedContext = attempt.usedContext;
+                if (!usedContext) sliceOnlyModelCount++;
+            } else {
+                // Every build failed, continue with the partial model of the first one
+                finalModel = launcher.getModel();
+                finalFactory = launcher.getFactory();
+                if (finalModel == null) {
+                    throw new RuntimeException("Model building failed - no model available");
+                }
+            }
+        }
+
+        // CRITICAL FIX: If we deleted stub files, retry with full source roots
+        if (finalModel == null && hasConflicts && !retryWithoutSourceRoots) {
             // First try: retry with full source roots (stub files already deleted)
             try {
-                Launcher retryLauncher = new Launcher();
-                var retryEnv = retryLauncher.getEnvironment();
-                retryEnv.setComplianceLevel(env.getComplianceLevel());
-                retryEnv.setAutoImports(false);
-                retryEnv.setSourceOutputDirectory(slicedSrcDir.toFile());
-                retryEnv.setNoClasspath(env.getNoClasspath());
-                if (!env.getNoClasspath()) {
-                    retryEnv.setSourceClasspath(env.getSourceClasspath());
-                }
-                
-                // Add sliced code (may have fewer files now after deletion)
-                retryLauncher.addInputResource(slicedSrcDir.toString());
-                
-                // Add ALL source roots (full context) - stub files are already deleted
-                addSourceRootsWithFqnFilter(retryLauncher, slicedSrcDir);
+                // Full source roots (full context) - stub files are already deleted
+                Launcher retryLauncher = newContextLauncher(env, slicedSrcDir);
                 
                 long retryStart = System.currentTimeMillis();
-                retryLauncher.buildModel();
+                buildModel(retryLauncher);
                 long retryElapsed = System.currentTimeMillis() - retryStart;
                 totalModelBuildTime += retryElapsed;
                 totalModelBuilds++;
@@ -230,29 +272,13 @@ public final class SpoonStubbingRunner implements Stubber {
         }
         
         // Second try: If first retry failed or we didn't delete stub files, try dropping only conflicting source root files
-        if (conflictingFqns != null && !conflictingFqns.isEmpty() && !usedContext) {
+        if (finalModel == null && hasConflicts && !usedContext) {
             try {
-                Launcher retryLauncher = new Launcher();
-                var retryEnv = retryLauncher.getEnvironment();
-                retryEnv.setComplianceLevel(env.getComplianceLevel());
-                retryEnv.setAutoImports(false);
-                retryEnv.setSourceOutputDirectory(slicedSrcDir.toFile());
-                retryEnv.setNoClasspath(env.getNoClasspath());
-                if (!env.getNoClasspath()) {
-                    retryEnv.setSourceClasspath(env.getSourceClasspath());
-                }
-                
-                // Always add sliced code (canonical)
-                retryLauncher.addInputResource(slicedSrcDir.toString());
-                
-                // Add source roots, but exclude files that define conflicting FQNs
-                Set<String> conflictingFiles = findFilesDefiningFqns(conflictingFqns);
-                System.out.println("[SpoonStubbingRunner] Found " + conflictingFiles.size() + " source root file(s) defining conflicting FQNs, excluding them...");
-                
-                addSourceRootsWithFqnFilterExcludingFiles(retryLauncher, slicedSrcDir, conflictingFiles);
+                // Source roots without the files that define conflicting FQNs
+                Launcher retryLauncher = newFilteredLauncher(env, slicedSrcDir, findConflictingFiles(conflictingFqns));
                 
                 long retryStart = System.currentTimeMillis();
-                retryLauncher.buildModel();
+                buildModel(retryLauncher);
                 long retryElapsed = System.currentTimeMillis() - retryStart;
                 totalModelBuildTime += retryElapsed;
                 totalModelBuilds++;
@@ -274,24 +300,14 @@ public final class SpoonStubbingRunner implements Stubber {
             }
         }
         
-        if (retryWithoutSourceRoots) {
+        if (finalModel == null && retryWithoutSourceRoots) {
             // Final fallback: slice-only (no source roots)
-            Launcher retryLauncher = new Launcher();
-            var retryEnv = retryLauncher.getEnvironment();
-            retryEnv.setComplianceLevel(env.getComplianceLevel());
-            retryEnv.setAutoImports(false);
-            retryEnv.setSourceOutputDirectory(slicedSrcDir.toFile());
-            retryEnv.setNoClasspath(env.getNoClasspath());
-            if (!env.getNoClasspath()) {
-                retryEnv.setSourceClasspath(env.getSourceClasspath());
-            }
-            
-            // Only add sliced code, no source roots
-            retryLauncher.addInputResource(slicedSrcDir.toString());
+            // Only sliced code, no source roots
+            Launcher retryLauncher = newRetryLauncher(env, slicedSrcDir);
             
             try {
                 long retryStart = System.currentTimeMillis();
-                retryLauncher.buildModel();
+                buildModel(retryLauncher);
                 long retryElapsed = System.currentTimeMillis() - retryStart;
                 totalModelBuildTime += retryElapsed;
                 totalModelBuilds++;
@@ -319,7 +335,7 @@ public final class SpoonStubbingRunner implements Stubber {
                 finalModel = tempModel;
                 finalFactory = tempFactory;
             }
-        } else {
+        } else if (finalModel == null) {
             // Get model and factory after buildModel() (whether it succeeded or failed)
             CtModel tempModel = launcher.getModel();
             Factory tempFactory = launcher.getFactory();
@@ -482,6 +498,11 @@ public final class SpoonStubbingRunner implements Stubber {
             return false; // Keep in plans
         });
 
+        // Context types come from the compiled context as binary types, which the collector sees as missing
+        if (compiledContext != null) {
+            removeCompiledContextPlans(plans, CompiledContext.typeNames(compiledContext), finalInterestingTypeQNs);
+        }
+
         // 3) Generate JDK stubs for SootUp compatibility (if explicitly enabled)
         // WARNING: JDK stubs should only be enabled when JDK types are NOT available from classpath
         // and you need them in the output directory for SootUp. They can cause conflicts if JDK
@@ -4155,7 +4176,8 @@ public final class SpoonStubbingRunner implements Stubber {
                 || qn.startsWith("javax.")
                 || qn.startsWith("jakarta.")
                 || qn.startsWith("sun.")
-                || qn.startsWith("jdk."));
+                || qn.startsWith("jdk.")
+                || JdkTypes.isJdkType(qn)); // platform classes outside these prefixes, e.g. org.w3c.dom.*
     }
     
     /**
@@ -4371,13 +4393,190 @@ public final class SpoonStubbingRunner implements Stubber {
         return fqns;
     }
     
+    /**
+     * A model build of the retry ladder that succeeded.
+     */
+    private static class ModelAttempt {
+        final String name;
+        final Launcher launcher;
+        final boolean usedContext;
+        final long elapsedMs;
+
+        ModelAttempt(String name, Launcher launcher, boolean usedContext, long elapsedMs) {
+            this.name = name;
+            this.launcher = launcher;
+            this.usedContext = usedContext;
+            this.elapsedMs = elapsedMs;
+        }
+    }
+
+    /**
+     * Threads of speculative model builds that were abandoned while still running. Spoon ignores interrupts,
+     * so a build that is not taken keeps its thread (and model) until it finishes on its own. While any such
+     * thread is alive, no new speculative builds are started and the retry ladder runs sequentially, so at
+     * most one set of abandoned builds is running at any time.
+     */
+    private static final class SpeculativeBuilds {
+        private static int abandonedThreads = 0;
+
+        private int liveThreads = 0;
+        private boolean abandoned = false;
+
+        static synchronized boolean abandonedStillRunning() {
+            return abandonedThreads > 0;
+        }
+
+        Thread newThread(Runnable r) {
+            synchronized (SpeculativeBuilds.class) {
+                liveThreads++;
+            }
+            Thread t = new Thread(() -> {
+                try {
+                    r.run();
+                } finally {
+                    synchronized (SpeculativeBuilds.class) {
+                        liveThreads--;
+                        if (abandoned) abandonedThreads--;
+                    }
+                }
+            }, "spoon-speculative");
+            t.setDaemon(true);
+            return t;
+        }
+
+        void abandon() {
+            synchronized (SpeculativeBuilds.class) {
+                abandoned = true;
+                abandonedThreads += liveThreads;
+            }
+        }
+    }
+
+    /**
+     * Run the retry ladder's builds (full context, conflict-filtered context, slice-only) concurrently.
+     * The most complete build that succeeds within {@code modelBuildBudgetMs} is taken; once the budget is
+     * spent, the best build finished so far wins, or else the slice-only build is awaited. Builds that
+     * are not taken are cancelled and their results dropped; as Spoon does not react to the cancellation,
+     * the next speculation waits until they have finished (see {@link SpeculativeBuilds}).
+     *
+     * @return the chosen build, or null if all builds failed
+     */
+    private ModelAttempt buildModelSpeculatively(spoon.compiler.Environment env, Path slicedSrcDir, Set<String> conflictingFqns) {
+        System.out.println("[SpoonStubbingRunner] Building retry models concurrently (budget " + cfg.getModelBuildBudgetMs() + "ms)...");
+        SpeculativeBuilds builds = new SpeculativeBuilds();
+        ExecutorService executor = Executors.newCachedThreadPool(builds::newThread);
+        Set<String> conflictingFiles = findConflictingFiles(conflictingFqns);
+        List<Future<ModelAttempt>> attempts = new ArrayList<>();
+        attempts.add(executor.submit(() -> attemptModel("full context", newContextLauncher(env, slicedSrcDir), true)));
+        attempts.add(executor.submit(() -> attemptModel("conflict-filtered context", newFilteredLauncher(env, slicedSrcDir, conflictingFiles), true)));
+        attempts.add(executor.submit(() -> attemptModel("slice-only", newRetryLauncher(env, slicedSrcDir), false)));
+
+        ModelAttempt chosen = null;
+        long deadline = System.currentTimeMillis() + cfg.getModelBuildBudgetMs();
+        try {
+            // In order of preference, as long as the budget lasts
+            for (Future<ModelAttempt> attempt : attempts) {
+                long remaining = deadline - System.currentTimeMillis();
+                if (remaining <= 0) break;
+                try {
+                    chosen = attempt.get(remaining, TimeUnit.MILLISECONDS);
+                    break;
+                } catch (ExecutionException e) {
+                    System.err.println("[SpoonStubbingRunner] Concurrent model build failed: " + e.getCause().getMessage());
+                } catch (TimeoutException e) {
+                    break;
+                }
+            }
+            // Budget spent: best build finished so far, else the slice-only build
+            for (int i = 0; chosen == null && i < attempts.size(); i++) {
+                Future<ModelAttempt> attempt = attempts.get(i);
+                boolean last = i == attempts.size() - 1;
+                if (!attempt.isDone() && !last) continue;
+                try {
+                    chosen = attempt.get();
+                } catch (ExecutionException e) {
+                    // Failed, try the next one
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            attempts.forEach(a -> a.cancel(true));
+            executor.shutdownNow();
+            builds.abandon();
+        }
+
+        if (chosen != null) {
+            totalModelBuildTime += chosen.elapsedMs;
+            totalModelBuilds++;
+            System.out.println("[Spoon] Concurrent model building took the " + chosen.name + " model (" + chosen.elapsedMs + "ms)");
+        }
+        return chosen;
+    }
+
+    private ModelAttempt attemptModel(String name, Launcher retryLauncher, boolean usedContext) {
+        long start = System.currentTimeMillis();
+        buildModel(retryLauncher);
+        if (retryLauncher.getModel() == null) {
+            throw new RuntimeException("Model building (" + name + ") produced no model");
+        }
+        return new ModelAttempt(name, retryLauncher, usedContext, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Launcher for a retry build with the settings of the first build and only the sliced code as input.
+     */
+    private static Launcher newRetryLauncher(spoon.compiler.Environment env, Path slicedSrcDir) {
+        Launcher retryLauncher = new Launcher();
+        var retryEnv = retryLauncher.getEnvironment();
+        retryEnv.setComplianceLevel(env.getComplianceLevel());
+        retryEnv.setAutoImports(false);
+        retryEnv.setSourceOutputDirectory(slicedSrcDir.toFile());
+        retryEnv.setNoClasspath(env.getNoClasspath());
+        if (env.getSourceClasspath() != null) {
+            retryEnv.setSourceClasspath(env.getSourceClasspath());
+        }
+
+        // Always add sliced code (canonical)
+        retryLauncher.addInputResource(slicedSrcDir.toString());
+        return retryLauncher;
+    }
+
+    private Launcher newContextLauncher(spoon.compiler.Environment env, Path slicedSrcDir) {
+        Launcher retryLauncher = newRetryLauncher(env, slicedSrcDir);
+        addSourceRootsWithFqnFilter(retryLauncher, slicedSrcDir);
+        return retryLauncher;
+    }
+
+    private Launcher newFilteredLauncher(spoon.compiler.Environment env, Path slicedSrcDir, Set<String> conflictingFiles) {
+        Launcher retryLauncher = newRetryLauncher(env, slicedSrcDir);
+        addSourceRootsWithFqnFilterExcludingFiles(retryLauncher, slicedSrcDir, conflictingFiles);
+        return retryLauncher;
+    }
+
+    private Set<String> findConflictingFiles(Set<String> conflictingFqns) {
+        Set<String> conflictingFiles = findFilesDefiningFqns(conflictingFqns);
+        System.out.println("[SpoonStubbingRunner] Found " + conflictingFiles.size() + " source root file(s) defining conflicting FQNs, excluding them...");
+        return conflictingFiles;
+    }
+
+    /**
+     * Build the Spoon model on a large-stack thread (inline when already on one, e.g. when called from Jess).
+     */
+    private void buildModel(Launcher launcher) {
+        LargeStackExecutor.call(cfg.getResolutionStackSize(), "spoon-model", () -> {
+            launcher.buildModel();
+            return null;
+        });
+    }
+
     /**
      * Add source roots with FQN-based filtering.
      * Only adds files whose FQNs are NOT in the sliced code set.
      * If sourceRoots is null/empty, does nothing (keeps old behavior for synthetic tests).
      */
     private void addSourceRootsWithFqnFilter(Launcher launcher, Path slicedSrcDir) {
-        if (sourceRoots == null || sourceRoots.isEmpty()) {
+        if (sourceRoots == null || sourceRoots.isEmpty() || compiledContext != null) {
             // No source roots - keep old behavior (slice-only)
             return;
         }
@@ -4406,6 +4605,7 @@ public final class SpoonStubbingRunner implements Stubber {
         int rootIndex = 0;
         AtomicInteger totalAddedFiles = new AtomicInteger(0);
         AtomicInteger totalSkippedFiles = new AtomicInteger(0);
+        Set<String> addedFqns = new HashSet<>();
         for (Path root : sourceRoots) {
             rootIndex++;
             if (root == null || !Files.exists(root) || !Files.isDirectory(root)) {
@@ -4448,19 +4648,15 @@ public final class SpoonStubbingRunner implements Stubber {
                         continue;
                     }
                     
-                    // If ALL FQNs in this file are already in the slice set,
-                    // skip the file, because the slice version is canonical
-                    boolean allCovered = fileFqns.stream()
-                        .allMatch(slicedFqns::contains);
-                    
-                    if (allCovered) {
-                        // Skip - slice defines these types
+                    // Skip files that would define a type twice, because the slice version is canonical
+                    if (definesKnownType(fileFqns, slicedFqns, addedFqns)) {
                         skippedInRoot.incrementAndGet();
                         totalSkippedFiles.incrementAndGet();
                     } else {
-                        // Add file - it contains types not in slice
+                        // Add file - it contains only types not in slice
                         try {
-                            launcher.addInputResource(javaFile.toString());
+                            launcher.addInputResource(contextResource(javaFile));
+                            addedFqns.addAll(fileFqns);
                             addedInRoot.incrementAndGet();
                             totalAddedFiles.incrementAndGet();
                         } catch (Exception e) {
@@ -4476,6 +4672,53 @@ public final class SpoonStubbingRunner implements Stubber {
         System.out.println("[Spoon] Source root filtering complete: added " + totalAddedFiles.get() + " files, skipped " + totalSkippedFiles.get() + " files (slice is canonical)");
     }
     
+    /**
+     * Input resource for a source-root file used as context: its declarations-only copy if enabled.
+     */
+    private String contextResource(Path javaFile) {
+        return signatureOnlyContext != null ? signatureOnlyContext.reduce(javaFile).toString() : javaFile.toString();
+    }
+
+    /**
+     * Drop type and member plans for types of the compiled context. In source context mode these types have a
+     * declaration in the model and are never planned; binary types do not, so the collector plans them.
+     * Types the slice declares (and their nested types) are compiled context too, as gen/ holds reduced copies
+     * of repository files, but their source declaration in gen/ is the one that is stubbed, so they are kept.
+     */
+    static void removeCompiledContextPlans(SpoonCollector.CollectResult plans, Set<String> compiledTypes, Set<String> sliceTypes) {
+        if (compiledTypes.isEmpty()) return;
+        java.util.function.Predicate<String> contextType = qn -> qn != null && compiledTypes.contains(qn)
+                && !sliceTypes.contains(qn) && !sliceTypes.contains(topLevelName(qn));
+        int before = plans.typePlans.size() + plans.fieldPlans.size() + plans.methodPlans.size() + plans.ctorPlans.size();
+        plans.typePlans.removeIf(tp -> contextType.test(tp.qualifiedName));
+        plans.fieldPlans.removeIf(fp -> fp.ownerType != null && contextType.test(fp.ownerType.getQualifiedName()));
+        plans.methodPlans.removeIf(mp -> mp.ownerType != null && contextType.test(mp.ownerType.getQualifiedName()));
+        plans.ctorPlans.removeIf(cp -> cp.ownerType != null && contextType.test(cp.ownerType.getQualifiedName()));
+        int removed = before - plans.typePlans.size() - plans.fieldPlans.size() - plans.methodPlans.size() - plans.ctorPlans.size();
+        if (removed > 0) {
+            System.out.println("[SpoonStubbingRunner] Skipped " + removed + " plans for compiled context types");
+        }
+    }
+
+    // Top-level type of a binary name (p.Outer$Inner -> p.Outer)
+    private static String topLevelName(String binaryName) {
+        int nested = binaryName.indexOf('$', binaryName.lastIndexOf('.') + 1);
+        return nested < 0 ? binaryName : binaryName.substring(0, nested);
+    }
+
+    /**
+     * Whether adding a source-root file would make Spoon report a type as already defined: the file defines a
+     * (top-level or nested) type that the slice or its stubs in gen/ define, or one that an earlier source-root
+     * file already contributed (e.g. the same class in two source roots). Partially sliced files count too, as
+     * the sliced top-level type would clash with the file's own.
+     */
+    static boolean definesKnownType(Set<String> fileFqns, Set<String> slicedFqns, Set<String> addedFqns) {
+        for (String fqn : fileFqns) {
+            if (slicedFqns.contains(fqn) || addedFqns.contains(fqn)) return true;
+        }
+        return false;
+    }
+
     /**
      * Pretty-print only slice types to the output directory, not all types in the model.
      * This is a critical optimization - without it, Spoon would print all 594 types instead of just 2-3 slice types.
@@ -4524,7 +4767,7 @@ public final class SpoonStubbingRunner implements Stubber {
      * Used when retrying after dropping conflicting files.
      */
     private void addSourceRootsWithFqnFilterExcludingFiles(Launcher launcher, Path slicedSrcDir, Set<String> excludedFiles) {
-        if (sourceRoots == null || sourceRoots.isEmpty()) {
+        if (sourceRoots == null || sourceRoots.isEmpty() || compiledContext != null) {
             return;
         }
         
@@ -4557,6 +4800,7 @@ public final class SpoonStubbingRunner implements Stubber {
         }
         
         // Add source roots with file-level filtering, excluding conflicting files
+        Set<String> addedFqns = new HashSet<>();
         for (Path root : sourceRoots) {
             if (root == null || !Files.exists(root) || !Files.isDirectory(root)) {
                 continue;
@@ -4579,11 +4823,11 @@ public final class SpoonStubbingRunner implements Stubber {
                             return;
                         }
                         
-                        boolean allCovered = fileFqns.stream().allMatch(slicedFqns::contains);
-                        if (!allCovered) {
-                            // Add file - it contains types not in slice
+                        if (!definesKnownType(fileFqns, slicedFqns, addedFqns)) {
+                            // Add file - it contains only types not in slice
                             try {
-                                launcher.addInputResource(javaFile.toString());
+                                launcher.addInputResource(contextResource(javaFile));
+                                addedFqns.addAll(fileFqns);
                             } catch (Exception e) {
                                 // Ignore
                             }
@@ -4642,9 +4886,13 @@ public final class SpoonStubbingRunner implements Stubber {
         
         // Try to resolve simple names to FQNs using sourceRootFqnCache
         if (!simpleNames.isEmpty()) {
+            Map<String, Set<String>> fqnsByFile;
+            synchronized (sourceRootFqnCache) {
+                fqnsByFile = new HashMap<>(sourceRootFqnCache);
+            }
             for (String simpleName : simpleNames) {
                 // Search in sourceRootFqnCache for types with this simple name
-                for (Map.Entry<String, Set<String>> entry : sourceRootFqnCache.entrySet()) {
+                for (Map.Entry<String, Set<String>> entry : fqnsByFile.entrySet()) {
                     Set<String> fileFqns = entry.getValue();
                     for (String fileFqn : fileFqns) {
                         // Check if simple name matches (handle nested classes with $)
@@ -4714,7 +4962,11 @@ public final class SpoonStubbingRunner implements Stubber {
      */
     private Set<String> findFilesDefiningFqns(Set<String> fqns) {
         Set<String> files = new HashSet<>();
-        for (Map.Entry<String, Set<String>> entry : sourceRootFqnCache.entrySet()) {
+        Map<String, Set<String>> fqnsByFile;
+        synchronized (sourceRootFqnCache) {
+            fqnsByFile = new HashMap<>(sourceRootFqnCache);
+        }
+        for (Map.Entry<String, Set<String>> entry : fqnsByFile.entrySet()) {
             String filePath = entry.getKey();
             Set<String> fileFqns = entry.getValue();
             // If this file defines any of the conflicting FQNs, exclude it
@@ -4758,8 +5010,8 @@ public final class SpoonStubbingRunner implements Stubber {
         double sliceOnlyPercent = totalMethods > 0 ? (100.0 * sliceOnlyModelCount / totalMethods) : 0.0;
         
         return String.format(
-            "[SpoonStubbingRunner] Summary: %d methods total - %d (%.1f%%) with context, %d (%.1f%%) slice-only. Avg build time: %.1fms",
-            totalMethods, contextModelCount, contextPercent, sliceOnlyModelCount, sliceOnlyPercent, avgBuildTime
+            "[SpoonStubbingRunner] Summary: %d methods total - %d (%.1f%%) with context, %d (%.1f%%) slice-only. Avg build time: %.1fms, %d rebuild(s) after duplicate types",
+            totalMethods, contextModelCount, contextPercent, sliceOnlyModelCount, sliceOnlyPercent, avgBuildTime, modelRebuilds
         );
     }
     
@@ -4771,6 +5023,34 @@ public final class SpoonStubbingRunner implements Stubber {
         sliceOnlyModelCount = 0;
         totalModelBuildTime = 0;
         totalModelBuilds = 0;
+        modelRebuilds = 0;
+    }
+
+    /**
+     * Summary counters since the last reset, in the order accepted by {@link #addCounters}; used to pass the
+     * counters of forked worker JVMs to the parent.
+     */
+    public static synchronized long[] getCounters() {
+        return new long[]{contextModelCount, sliceOnlyModelCount, totalModelBuildTime, totalModelBuilds, modelRebuilds};
+    }
+
+    /**
+     * Add counters of {@link #getCounters()} (e.g. from a worker JVM) to this JVM's summary.
+     */
+    public static synchronized void addCounters(long[] counters) {
+        if (counters == null || counters.length < 5) return;
+        contextModelCount += (int) counters[0];
+        sliceOnlyModelCount += (int) counters[1];
+        totalModelBuildTime += counters[2];
+        totalModelBuilds += (int) counters[3];
+        modelRebuilds += (int) counters[4];
+    }
+
+    /**
+     * Number of model builds that hit a duplicate type and went through the retry ladder since the last reset.
+     */
+    static int getModelRebuilds() {
+        return modelRebuilds;
     }
     
     /**
@@ -3,6 +3,7 @@ package de.upb.sse.jess.stubbing.spoon.collector;
 import de.upb.sse.jess.configuration.JessConfiguration;
 import de.upb.sse.jess.exceptions.AmbiguityException;
 import de.upb.sse.jess.generation.unknown.UnknownType;
+import de.upb.sse.jess.resolution.JdkTypes;
 import de.upb.sse.jess.stubbing.spoon.plan.*;
 import spoon.reflect.CtModel;
 import spoon.reflect.code.*;
@@ -53,11 +54,13 @@ public final class SpoonCollector {
         // Track static imports that need to be added: Map<TypeFQN, Set<FieldName>>
         public final Map<String, Set<String>> staticImports = new LinkedHashMap<>();
 
-        // CRITICAL FIX: Strong deduplication - canonical keys for plans
-        public final Set<String> typePlanKeys = new HashSet<>();
-        public final Set<String> methodPlanKeys = new HashSet<>();
-        public final Set<String> fieldPlanKeys = new HashSet<>();
-        public final Set<String> ctorPlanKeys = new HashSet<>();
+        // CRITICAL FIX: Strong deduplication - canonical keys for plans, built from interned type/member names
+        public final TypeSymbols symbols = new TypeSymbols();
+        public final Set<TypeSymbols.Key> typePlanKeys = new HashSet<>();
+        public final Set<TypeSymbols.Key> methodPlanKeys = new HashSet<>();
+        public final Set<TypeSymbols.Key> fieldPlanKeys = new HashSet<>();
+        public final Set<TypeSymbols.Key> ctorPlanKeys = new HashSet<>();
+        public final Set<TypeSymbols.Key> varargsMethodKeys = new HashSet<>(); // owner+name of planned varargs methods
         
         // CRITICAL FIX: Demand-driven collection - referenced types/owners
         public final Set<String> referencedTypes = new HashSet<>();
@@ -103,6 +106,11 @@ public final class SpoonCollector {
         return JDK_SIMPLE.containsKey(simple);
     }
 
+    // java.lang types are visible without an import, but only after the package and on-demand imports are tried
+    private static boolean isJavaLangSimple(String simple) {
+        return JdkTypes.isJdkType("java.lang." + simple);
+    }
+
     // --- Method name → return type mappings (like JavaParser's InferenceEngine) ---
     // This provides fallback type inference when context-based inference fails
     private static final Map<String, String> METHOD_RETURN_TYPES = new HashMap<>();
@@ -1930,9 +1938,7 @@ public final class SpoonCollector {
             // Avoid generating multiple variants for same owner+name
             if (makeVarargs && !paramTypes.isEmpty()) {
                 // Check if we already have a varargs method for this owner+name
-                String ownerQn = safeQN(owner);
-                boolean hasVarargsVariant = out.methodPlanKeys.stream()
-                    .anyMatch(k -> k.startsWith("METHOD:" + ownerQn + "#" + name + "(") && k.contains("[varargs]"));
+                boolean hasVarargsVariant = out.varargsMethodKeys.contains(varargsKey(out, out.symbols.id(owner), name));
                 if (hasVarargsVariant) {
                     // Already have a varargs variant - skip to avoid duplicates
                     continue;
@@ -2551,21 +2557,8 @@ public final class SpoonCollector {
                 CtTypeReference<?> owner = chooseOwnerPackage(t, m);
                 if (isJdkType(owner)) continue;
                 addTypePlanFromRef(out, owner, TypeStubPlan.Kind.CLASS);
-                // CRITICAL FIX: Check for duplicate constructor plans before adding
-                String ownerQn = safeQN(owner);
-                boolean ctorAlreadyExists = out.ctorPlans.stream()
-                    .anyMatch(p -> {
-                        try {
-                            String pOwnerQn = safeQN(p.ownerType);
-                            return ownerQn != null && ownerQn.equals(pOwnerQn) && 
-                                   (p.parameterTypes == null || p.parameterTypes.isEmpty());
-                        } catch (Throwable ignored) {
-                            return false;
-                        }
-                    });
-                if (!ctorAlreadyExists) {
-                    addConstructorPlanIfNotExists(out, owner, Collections.emptyList());
-                }
+                // Skips owners that already have a no-arg constructor plan
+                addConstructorPlanIfNotExists(out, owner, Collections.emptyList());
             }
         }
 
@@ -2585,21 +2578,8 @@ public final class SpoonCollector {
                 CtTypeReference<?> owner = chooseOwnerPackage(t, c);
                 if (isJdkType(owner)) continue;
                 addTypePlanFromRef(out, owner, TypeStubPlan.Kind.CLASS);
-                // CRITICAL FIX: Check for duplicate constructor plans before adding
-                String ownerQn = safeQN(owner);
-                boolean ctorAlreadyExists = out.ctorPlans.stream()
-                    .anyMatch(p -> {
-                        try {
-                            String pOwnerQn = safeQN(p.ownerType);
-                            return ownerQn != null && ownerQn.equals(pOwnerQn) && 
-                                   (p.parameterTypes == null || p.parameterTypes.isEmpty());
-                        } catch (Throwable ignored) {
-                            return false;
-                        }
-                    });
-                if (!ctorAlreadyExists) {
-                    addConstructorPlanIfNotExists(out, owner, Collections.emptyList());
-                }
+                // Skips owners that already have a no-arg constructor plan
+                addConstructorPlanIfNotExists(out, owner, Collections.emptyList());
             }
         }
 
@@ -2627,21 +2607,8 @@ public final class SpoonCollector {
                 CtTypeReference<?> owner = chooseOwnerPackage(raw, cat);
                 if (isJdkType(owner)) continue;
                 addTypePlanFromRef(out, owner, TypeStubPlan.Kind.CLASS);
-                // CRITICAL FIX: Check for duplicate constructor plans before adding
-                String ownerQn = safeQN(owner);
-                boolean ctorAlreadyExists = out.ctorPlans.stream()
-                    .anyMatch(p -> {
-                        try {
-                            String pOwnerQn = safeQN(p.ownerType);
-                            return ownerQn != null && ownerQn.equals(pOwnerQn) && 
-                                   (p.parameterTypes == null || p.parameterTypes.isEmpty());
-                        } catch (Throwable ignored) {
-                            return false;
-                        }
-                    });
-                if (!ctorAlreadyExists) {
-                    addConstructorPlanIfNotExists(out, owner, Collections.emptyList());
-                }
+                // Skips owners that already have a no-arg constructor plan
+                addConstructorPlanIfNotExists(out, owner, Collections.emptyList());
             }
         }
 
@@ -2669,21 +2636,8 @@ public final class SpoonCollector {
                     if (t != null && !isJdkType(t) && t.getDeclaration() == null) {
                         CtTypeReference<?> owner = chooseOwnerPackage(t, thr);
                         addTypePlanIfNonJdk(out, owner.getQualifiedName(), TypeStubPlan.Kind.CLASS);
-                        // CRITICAL FIX: Check for duplicate constructor plans before adding
-                String ownerQn = safeQN(owner);
-                boolean ctorAlreadyExists = out.ctorPlans.stream()
-                    .anyMatch(p -> {
-                        try {
-                            String pOwnerQn = safeQN(p.ownerType);
-                            return ownerQn != null && ownerQn.equals(pOwnerQn) && 
-                                   (p.parameterTypes == null || p.parameterTypes.isEmpty());
-                        } catch (Throwable ignored) {
-                            return false;
-                        }
-                    });
-                if (!ctorAlreadyExists) {
-                    addConstructorPlanIfNotExists(out, owner, Collections.emptyList());
-                }
+                        // Skips owners that already have a no-arg constructor plan
+                        addConstructorPlanIfNotExists(out, owner, Collections.emptyList());
                     }
                 } catch (Throwable ignored) {
                 }
@@ -3232,9 +3186,16 @@ public final class SpoonCollector {
             }
         } catch (Throwable ignored) {}
         if (currentPkg != null && !currentPkg.isEmpty()) {
+            // A type declared in the current package shadows java.lang
+            if (f.Type().get(currentPkg + "." + simple) == null && isJavaLangSimple(simple)) {
+                return f.Type().createReference("java.lang." + simple);
+            }
             // Choose current package owner
             return f.Type().createReference(currentPkg + "." + simple);
         }
+        if (isJavaLangSimple(simple)) {
+            return f.Type().createReference("java.lang." + simple);
+        }
 
 
 
@@ -5059,7 +5020,7 @@ public final class SpoonCollector {
         
         // CRITICAL FIX: Use canonical key for deduplication
         TypeStubPlan plan = new TypeStubPlan(fqn, kind);
-        String key = canonicalKey(plan);
+        TypeSymbols.Key key = canonicalKey(out, plan);
         if (out.typePlanKeys.contains(key)) {
             // Already exists - check if we need to update the kind
             for (TypeStubPlan existing : out.typePlans) {
@@ -5110,33 +5071,7 @@ public final class SpoonCollector {
         }
         
         // Check for duplicate constructor plans
-        boolean alreadyExists = out.ctorPlans.stream()
-            .anyMatch(p -> {
-                try {
-                    String pOwnerQn = safeQN(p.ownerType);
-                    if (ownerQn == null || !ownerQn.equals(pOwnerQn)) return false;
-                    
-                    // Check parameter types match
-                    List<CtTypeReference<?>> pParams = p.parameterTypes;
-                    if (paramTypes == null || paramTypes.isEmpty()) {
-                        return (pParams == null || pParams.isEmpty());
-                    }
-                    if (pParams == null || pParams.size() != paramTypes.size()) {
-                        return false;
-                    }
-                    // Check if all parameter types match (by qualified name)
-                    for (int i = 0; i < paramTypes.size(); i++) {
-                        String paramQn = safeQN(paramTypes.get(i));
-                        String pParamQn = safeQN(pParams.get(i));
-                        if (paramQn == null || !paramQn.equals(pParamQn)) {
-                            return false;
-                        }
-                    }
-                    return true;
-                } catch (Throwable ignored) {
-                    return false;
-                }
-            });
+        boolean alreadyExists = out.ctorPlanKeys.contains(ctorKey(out, out.symbols.id(ownerQn), paramTypes));
         
         if (!alreadyExists) {
             ConstructorStubPlan plan = new ConstructorStubPlan(owner, paramTypes);
@@ -5235,64 +5170,36 @@ public final class SpoonCollector {
     /**
      * CRITICAL FIX: Generate canonical key for TypeStubPlan.
      */
-    private String canonicalKey(TypeStubPlan plan) {
-        return "TYPE:" + plan.qualifiedName + ":" + plan.kind;
+    private TypeSymbols.Key canonicalKey(CollectResult out, TypeStubPlan plan) {
+        return new TypeSymbols.Key(TypeSymbols.Key.Kind.TYPE, out.symbols.id(String.valueOf(plan.qualifiedName)), -1,
+                new int[0], plan.kind.ordinal());
     }
     
     /**
      * CRITICAL FIX: Generate canonical key for MethodStubPlan.
      */
-    private String canonicalKey(MethodStubPlan plan) {
-        try {
-            String ownerQn = safeQN(plan.ownerType);
-            if (ownerQn == null) ownerQn = "?";
-            StringBuilder key = new StringBuilder("METHOD:").append(ownerQn).append("#").append(plan.name).append("(");
-            for (int i = 0; i < plan.paramTypes.size(); i++) {
-                if (i > 0) key.append(",");
-                String paramQn = safeQN(plan.paramTypes.get(i));
-                key.append(paramQn != null ? paramQn : "?");
-            }
-            key.append(")");
-            if (plan.varargs) key.append("[varargs]");
-            return key.toString();
-        } catch (Throwable e) {
-            return "METHOD:?:" + plan.name;
-        }
+    private TypeSymbols.Key canonicalKey(CollectResult out, int owner, MethodStubPlan plan) {
+        return new TypeSymbols.Key(TypeSymbols.Key.Kind.METHOD, owner, out.symbols.id(plan.name),
+                out.symbols.ids(plan.paramTypes), plan.varargs ? 1 : 0);
+    }
+    
+    private TypeSymbols.Key varargsKey(CollectResult out, int owner, String name) {
+        return new TypeSymbols.Key(TypeSymbols.Key.Kind.VARARGS_METHOD, owner, out.symbols.id(name), new int[0], 0);
     }
     
     /**
      * CRITICAL FIX: Generate canonical key for FieldStubPlan.
      */
-    private String canonicalKey(FieldStubPlan plan) {
-        try {
-            String ownerQn = safeQN(plan.ownerType);
-            if (ownerQn == null) ownerQn = "?";
-            return "FIELD:" + ownerQn + "#" + plan.fieldName + (plan.isStatic ? ":static" : "");
-        } catch (Throwable e) {
-            return "FIELD:?:" + plan.fieldName;
-        }
+    private TypeSymbols.Key canonicalKey(CollectResult out, int owner, FieldStubPlan plan) {
+        return new TypeSymbols.Key(TypeSymbols.Key.Kind.FIELD, owner, out.symbols.id(plan.fieldName),
+                new int[0], plan.isStatic ? 1 : 0);
     }
     
     /**
-     * CRITICAL FIX: Generate canonical key for ConstructorStubPlan.
+     * CRITICAL FIX: Generate canonical key for constructors (owner and parameter types).
      */
-    private String canonicalKey(ConstructorStubPlan plan) {
-        try {
-            String ownerQn = safeQN(plan.ownerType);
-            if (ownerQn == null) ownerQn = "?";
-            StringBuilder key = new StringBuilder("CTOR:").append(ownerQn).append("(");
-            if (plan.parameterTypes != null) {
-                for (int i = 0; i < plan.parameterTypes.size(); i++) {
-                    if (i > 0) key.append(",");
-                    String paramQn = safeQN(plan.parameterTypes.get(i));
-                    key.append(paramQn != null ? paramQn : "?");
-                }
-            }
-            key.append(")");
-            return key.toString();
-        } catch (Throwable e) {
-            return "CTOR:?:()";
-        }
+    private TypeSymbols.Key ctorKey(CollectResult out, int owner, List<CtTypeReference<?>> parameterTypes) {
+        return new TypeSymbols.Key(TypeSymbols.Key.Kind.CTOR, owner, -1, out.symbols.ids(parameterTypes), 0);
     }
     
     /**
@@ -5301,20 +5208,20 @@ public final class SpoonCollector {
     private boolean addMethodPlan(CollectResult out, MethodStubPlan plan) {
         // Task 3: Only add plans for slice types (owners in neededOwners)
         // Context types are for resolution only, not for stubbing
-        if (plan.ownerType != null) {
-            String ownerQn = safeQN(plan.ownerType);
-            if (ownerQn != null && !out.neededOwners.isEmpty() && !out.neededOwners.contains(ownerQn)) {
-                // This is a context-only type, don't create stub owner
-                return false;
-            }
+        String ownerQn = safeQN(plan.ownerType);
+        if (plan.ownerType != null && !out.neededOwners.isEmpty() && !out.neededOwners.contains(ownerQn)) {
+            // This is a context-only type, don't create stub owner
+            return false;
         }
         
-        String key = canonicalKey(plan);
+        int owner = out.symbols.id(plan.ownerType == null ? "?" : ownerQn);
+        TypeSymbols.Key key = canonicalKey(out, owner, plan);
         if (out.methodPlanKeys.contains(key)) {
             return false; // Already exists
         }
         out.methodPlans.add(plan);
         out.methodPlanKeys.add(key);
+        if (plan.varargs) out.varargsMethodKeys.add(varargsKey(out, owner, plan.name));
         return true;
     }
     
@@ -5324,15 +5231,14 @@ public final class SpoonCollector {
     private boolean addFieldPlan(CollectResult out, FieldStubPlan plan) {
         // Task 3: Only add plans for slice types (owners in neededOwners)
         // Context types are for resolution only, not for stubbing
-        if (plan.ownerType != null) {
-            String ownerQn = safeQN(plan.ownerType);
-            if (ownerQn != null && !out.neededOwners.isEmpty() && !out.neededOwners.contains(ownerQn)) {
-                // This is a context-only type, don't create stub owner
-                return false;
-            }
+        String ownerQn = safeQN(plan.ownerType);
+        if (plan.ownerType != null && !out.neededOwners.isEmpty() && !out.neededOwners.contains(ownerQn)) {
+            // This is a context-only type, don't create stub owner
+            return false;
         }
         
-        String key = canonicalKey(plan);
+        int owner = out.symbols.id(plan.ownerType == null ? "?" : ownerQn);
+        TypeSymbols.Key key = canonicalKey(out, owner, plan);
         if (out.fieldPlanKeys.contains(key)) {
             return false; // Already exists
         }
@@ -5347,15 +5253,14 @@ public final class SpoonCollector {
     private boolean addConstructorPlan(CollectResult out, ConstructorStubPlan plan) {
         // Task 3: Only add plans for slice types (owners in neededOwners)
         // Context types are for resolution only, not for stubbing
-        if (plan.ownerType != null) {
-            String ownerQn = safeQN(plan.ownerType);
-            if (ownerQn != null && !out.neededOwners.isEmpty() && !out.neededOwners.contains(ownerQn)) {
-                // This is a context-only type, don't create stub owner
-                return false;
-            }
+        String ownerQn = safeQN(plan.ownerType);
+        if (plan.ownerType != null && !out.neededOwners.isEmpty() && !out.neededOwners.contains(ownerQn)) {
+            // This is a context-only type, don't create stub owner
+            return false;
         }
         
-        String key = canonicalKey(plan);
+        int owner = out.symbols.id(plan.ownerType == null ? "?" : ownerQn);
+        TypeSymbols.Key key = ctorKey(out, owner, plan.parameterTypes);
         if (out.ctorPlanKeys.contains(key)) {
             return false; // Already exists
         }
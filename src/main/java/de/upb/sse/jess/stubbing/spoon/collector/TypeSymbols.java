@@ -0,0 +1,130 @@
+package de.upb.sse.jess.stubbing.spoon.collector;
+
+import spoon.reflect.reference.CtPackageReference;
+import spoon.reflect.reference.CtTypeReference;
+import spoon.support.reflect.reference.CtTypeReferenceImpl;
+
+import java.util.*;
+
+/**
+ * Symbol table of the type and member names used by stub plans during one collection run.
+ *
+ * Each distinct name is mapped to a small int once, and plan deduplication keys are built from these ids
+ * instead of concatenated signature strings, so checking a plan hashes a few ints and allocates no strings.
+ * The id of a type reference is remembered per reference, so Spoon computes its qualified name only on first
+ * use and again after the collector rebinds the reference (new simple name, package or declaring type).
+ */
+public final class TypeSymbols {
+    private final Map<String, Integer> ids = new HashMap<>();
+    private final List<String> names = new ArrayList<>();
+    private final Map<CtTypeReference<?>, Ref> refs = new IdentityHashMap<>();
+
+    /**
+     * Id of a name, registering it on first use.
+     */
+    public int id(String name) {
+        Integer id = ids.get(name);
+        if (id == null) {
+            id = names.size();
+            ids.put(name, id);
+            names.add(name);
+        }
+        return id;
+    }
+
+    /**
+     * Id of the qualified name of a type reference ({@code ""} if it has none).
+     */
+    public int id(CtTypeReference<?> type) {
+        // Array and other reference kinds build their names from further parts, only plain references are remembered
+        if (type == null || type.getClass() != CtTypeReferenceImpl.class) return id(SpoonCollector.safeQN(type));
+        Ref ref = refs.get(type);
+        if (ref != null && ref.matches(type)) return ref.id;
+        int id = id(SpoonCollector.safeQN(type));
+        refs.put(type, new Ref(type, id));
+        return id;
+    }
+
+    public String name(int id) {
+        return names.get(id);
+    }
+
+    public int size() {
+        return names.size();
+    }
+
+    /**
+     * Ids of the qualified names of {@code types}.
+     */
+    public int[] ids(List<? extends CtTypeReference<?>> types) {
+        if (types == null) return new int[0];
+        int[] result = new int[types.size()];
+        for (int i = 0; i < result.length; i++) result[i] = id(types.get(i));
+        return result;
+    }
+
+    /**
+     * The parts a plain reference's qualified name is built from, as they were when its id was computed.
+     */
+    private static final class Ref {
+        final String simpleName;
+        final CtPackageReference pkg;
+        final String pkgName;
+        final Ref declaring;
+        final int id;
+
+        Ref(CtTypeReference<?> type, int id) {
+            this.simpleName = type.getSimpleName();
+            this.pkg = type.getPackage();
+            this.pkgName = pkg == null ? null : pkg.getSimpleName();
+            CtTypeReference<?> declaringType = type.getDeclaringType();
+            this.declaring = declaringType == null ? null : new Ref(declaringType, -1);
+            this.id = id;
+        }
+
+        boolean matches(CtTypeReference<?> type) {
+            if (simpleName != type.getSimpleName() || pkg != type.getPackage()) return false;
+            if (pkg != null && pkgName != pkg.getSimpleName()) return false;
+            CtTypeReference<?> declaringType = type.getDeclaringType();
+            if (declaringType == null) return declaring == null;
+            return declaring != null && declaring.matches(declaringType);
+        }
+    }
+
+    /**
+     * Deduplication key of a plan: its kind, owner (or type) id, member name id, parameter type ids and flags.
+     */
+    public static final class Key {
+        public enum Kind { TYPE, METHOD, FIELD, CTOR, VARARGS_METHOD }
+
+        private final Kind kind;
+        private final int owner;
+        private final int name;
+        private final int[] params;
+        private final int flags;
+        private final int hash;
+
+        public Key(Kind kind, int owner, int name, int[] params, int flags) {
+            this.kind = kind;
+            this.owner = owner;
+            this.name = name;
+            this.params = params;
+            this.flags = flags;
+            this.hash = 31 * (31 * (31 * (31 * kind.ordinal() + owner) + name) + Arrays.hashCode(params)) + flags;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key k = (Key) o;
+            return hash == k.hash && kind == k.kind && owner == k.owner && name == k.name && flags == k.flags
+                    && Arrays.equals(params, k.params);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
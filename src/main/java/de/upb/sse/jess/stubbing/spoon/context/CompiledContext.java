@@ -0,0 +1,154 @@
+package de.upb.sse.jess.stubbing.spoon.context;
+
+import de.upb.sse.jess.util.FileUtil;
+import org.eclipse.jdt.core.compiler.batch.BatchCompiler;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.jar.JarFile;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Source roots compiled once into a class directory, so Spoon can resolve context types from the classpath
+ * instead of parsing every source-root file for every method.
+ *
+ * The roots are compiled with ECJ (shipped with Spoon) with {@code -proceedOnError}, so classes are
+ * generated even if parts of the repository do not compile (e.g. missing dependencies). Class directories
+ * are stored under a key over the roots' files and the jars (path, size, mtime), and are reused by later
+ * runs and worker JVMs; a changed file or jar leads to a new key and a new compilation.
+ */
+public final class CompiledContext {
+    private static final String COMPLETE_MARKER = ".complete";
+    private static final Map<String, Optional<Path>> compiled = new HashMap<>();
+    private static final Map<Path, Set<String>> typeNames = new HashMap<>();
+
+    private CompiledContext() {}
+
+    /**
+     * Class directory of the compiled source roots, compiling them on first use.
+     *
+     * @return the class directory, or empty if the roots could not be compiled
+     */
+    public static synchronized Optional<Path> forRoots(List<Path> sourceRoots, List<Path> jars, int complianceLevel, Path cacheDir) {
+        Optional<Path> classes = Optional.empty();
+        try {
+            List<Path> javaFiles = javaFiles(sourceRoots);
+            String key = key(javaFiles, jars, complianceLevel);
+            Optional<Path> known = compiled.get(key);
+            if (known != null) return known;
+
+            Path outDir = cacheDir.resolve(key);
+            if (Files.exists(outDir.resolve(COMPLETE_MARKER))) {
+                classes = Optional.of(outDir);
+            } else if (!javaFiles.isEmpty()) {
+                classes = compile(javaFiles, jars, complianceLevel, outDir);
+            }
+            compiled.put(key, classes);
+        } catch (IOException e) {
+            System.err.println("[CompiledContext] Could not compile source roots: " + e.getMessage());
+        }
+        return classes;
+    }
+
+    /**
+     * Binary names (e.g. {@code p.Outer$Inner}) of the classes in a class directory or jar.
+     */
+    public static synchronized Set<String> typeNames(Path classes) {
+        Set<String> known = typeNames.get(classes);
+        if (known != null) return known;
+
+        Set<String> names = new HashSet<>();
+        try {
+            if (Files.isDirectory(classes)) {
+                try (Stream<Path> files = Files.walk(classes)) {
+                    files.map(p -> classes.relativize(p).toString().replace(java.io.File.separatorChar, '/'))
+                            .forEach(name -> addClassName(name, names));
+                }
+            } else if (Files.isRegularFile(classes)) {
+                try (JarFile jar = new JarFile(classes.toFile())) {
+                    jar.stream().forEach(entry -> addClassName(entry.getName(), names));
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("[CompiledContext] Could not list classes of " + classes + ": " + e.getMessage());
+        }
+        Set<String> result = Collections.unmodifiableSet(names);
+        typeNames.put(classes, result);
+        return result;
+    }
+
+    private static void addClassName(String path, Set<String> names) {
+        if (!path.endsWith(".class") || path.endsWith("module-info.class") || path.endsWith("package-info.class")) return;
+        names.add(path.substring(0, path.length() - ".class".length()).replace('/', '.'));
+    }
+
+    private static Optional<Path> compile(List<Path> javaFiles, List<Path> jars, int complianceLevel, Path outDir) throws IOException {
+        System.out.println("[CompiledContext] Compiling " + javaFiles.size() + " source-root files to " + outDir + "...");
+        long start = System.currentTimeMillis();
+        Files.createDirectories(outDir);
+
+        List<String> args = new ArrayList<>(List.of(
+                "-d", outDir.toString(),
+                "--release", String.valueOf(complianceLevel),
+                "-encoding", "UTF-8",
+                "-proceedOnError", "-nowarn", "-proc:none", "-g:none"));
+        if (!jars.isEmpty()) {
+            args.add("-cp");
+            args.add(jars.stream().map(Path::toString).collect(Collectors.joining(java.io.File.pathSeparator)));
+        }
+        javaFiles.forEach(f -> args.add(f.toString()));
+
+        StringWriter errors = new StringWriter();
+        BatchCompiler.compile(args.toArray(new String[0]), new PrintWriter(new StringWriter()), new PrintWriter(errors), null);
+
+        boolean hasClasses;
+        try (Stream<Path> files = Files.walk(outDir)) {
+            hasClasses = files.anyMatch(p -> p.toString().endsWith(".class"));
+        }
+        if (!hasClasses) {
+            String message = errors.toString();
+            System.err.println("[CompiledContext] No classes generated: "
+                    + (message.length() > 500 ? message.substring(0, 500) + "..." : message));
+            return Optional.empty();
+        }
+        Files.writeString(outDir.resolve(COMPLETE_MARKER), "");
+        System.out.println("[CompiledContext] Compiled source roots in " + (System.currentTimeMillis() - start) + "ms");
+        return Optional.of(outDir);
+    }
+
+    private static List<Path> javaFiles(List<Path> sourceRoots) throws IOException {
+        List<Path> javaFiles = new ArrayList<>();
+        for (Path root : sourceRoots) {
+            if (root == null || !Files.isDirectory(root)) continue;
+            try (Stream<Path> files = Files.walk(root)) {
+                files.filter(p -> Files.isRegularFile(p) && p.toString().endsWith(".java"))
+                        .filter(p -> !p.getFileName().toString().equals("module-info.java"))
+                        .map(p -> p.toAbsolutePath().normalize())
+                        .forEach(javaFiles::add);
+            }
+        }
+        Collections.sort(javaFiles);
+        return javaFiles;
+    }
+
+    private static String key(List<Path> javaFiles, List<Path> jars, int complianceLevel) throws IOException {
+        StringBuilder sb = new StringBuilder().append(complianceLevel).append('\n');
+        for (Path file : javaFiles) appendFile(sb, file);
+        for (Path jar : jars) appendFile(sb, jar.toAbsolutePath().normalize());
+        return FileUtil.contentHash(sb.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void appendFile(StringBuilder sb, Path file) throws IOException {
+        sb.append(file);
+        if (Files.isRegularFile(file)) {
+            sb.append('|').append(Files.size(file)).append('|').append(Files.getLastModifiedTime(file).toMillis());
+        }
+        sb.append('\n');
+    }
+}
@@ -0,0 +1,178 @@
+package de.upb.sse.jess.stubbing.spoon.context;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParseResult;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.NodeList;
+import com.github.javaparser.ast.body.*;
+import com.github.javaparser.ast.comments.Comment;
+import com.github.javaparser.ast.expr.*;
+import com.github.javaparser.ast.stmt.BlockStmt;
+import com.github.javaparser.ast.stmt.ExplicitConstructorInvocationStmt;
+import com.github.javaparser.ast.stmt.Statement;
+import com.github.javaparser.ast.stmt.ThrowStmt;
+import com.github.javaparser.ast.type.PrimitiveType;
+import com.github.javaparser.ast.type.Type;
+import de.upb.sse.jess.util.FileUtil;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Declarations-only copies of source-root files that are handed to Spoon as context.
+ *
+ * Context types are only used to resolve the slice, so method and constructor bodies are replaced by
+ * {@code throw null;}, initializer blocks are dropped and field initializers are kept only if they are
+ * simple (constant-like) expressions. Signatures, fields, supertypes, annotations and enum constants are
+ * kept, and the copy stays compilable. Copies are stored by content hash under the cache directory, which
+ * may be shared by runs and worker JVMs; files that cannot be parsed are used as they are.
+ *
+ * Jess uses {@code <java.io.tmpdir>/jess-context} as the cache directory and never deletes it. Entries are
+ * immutable (keyed by content hash and format version), so the directory can be removed at any
+ * time while no run is active; stale format versions can be removed by deleting their subdirectory.
+ */
+public final class SignatureOnlyContext {
+    private static final String FORMAT_VERSION = "v1"; // bump when the reduction changes
+    private static final Map<Path, Entry> entries = new ConcurrentHashMap<>();
+
+    private final Path cacheDir;
+
+    private static class Entry {
+        final long size;
+        final long modified;
+        final Path reduced;
+
+        Entry(long size, long modified, Path reduced) {
+            this.size = size;
+            this.modified = modified;
+            this.reduced = reduced;
+        }
+    }
+
+    public SignatureOnlyContext(Path cacheDir) {
+        this.cacheDir = cacheDir;
+    }
+
+    /**
+     * Declarations-only copy of {@code javaFile}, or the file itself if it cannot be reduced.
+     */
+    public Path reduce(Path javaFile) {
+        Path file = javaFile.toAbsolutePath().normalize();
+        try {
+            long size = Files.size(file);
+            long modified = Files.getLastModifiedTime(file).toMillis();
+            Entry entry = entries.get(file);
+            if (entry != null && entry.size == size && entry.modified == modified) return entry.reduced;
+
+            String hash = FileUtil.contentHash(file);
+            Path reduced = cacheDir.resolve(FORMAT_VERSION).resolve(hash.substring(0, 2)).resolve(hash).resolve(file.getFileName().toString());
+            if (!Files.isRegularFile(reduced)) {
+                String source = reduceSource(file);
+                if (source == null) reduced = file;
+                else write(reduced, source);
+            }
+            entries.put(file, new Entry(size, modified, reduced));
+            return reduced;
+        } catch (IOException | RuntimeException e) {
+            System.err.println("[SignatureOnlyContext] Using full context file " + file + ": " + e.getMessage());
+            return file;
+        }
+    }
+
+    private static String reduceSource(Path file) throws IOException {
+        ParserConfiguration config = new ParserConfiguration()
+                .setLanguageLevel(ParserConfiguration.LanguageLevel.JAVA_17)
+                .setAttributeComments(false);
+        ParseResult<CompilationUnit> result = new JavaParser(config).parse(file);
+        if (!result.isSuccessful() || result.getResult().isEmpty()) return null;
+
+        CompilationUnit cu = result.getResult().get();
+        reduce(cu);
+        return cu.toString();
+    }
+
+    /**
+     * Reduce a compilation unit in place to its declarations.
+     */
+    public static void reduce(CompilationUnit cu) {
+        cu.getAllContainedComments().forEach(Comment::remove);
+
+        for (InitializerDeclaration initializer : cu.findAll(InitializerDeclaration.class)) {
+            initializer.remove();
+        }
+        for (FieldDeclaration field : cu.findAll(FieldDeclaration.class)) {
+            boolean isFinal = field.isFinal() || isInterfaceMember(field);
+            for (VariableDeclarator variable : field.getVariables()) {
+                Expression init = variable.getInitializer().orElse(null);
+                if (init != null && isSimple(init)) continue;
+                // Blank finals were assigned in bodies or initializer blocks that are gone now
+                if (isFinal) variable.setInitializer(defaultValue(variable.getType()));
+                else variable.removeInitializer();
+            }
+        }
+        for (MethodDeclaration method : cu.findAll(MethodDeclaration.class)) {
+            if (method.getBody().isPresent()) method.setBody(throwNull());
+        }
+        for (ConstructorDeclaration constructor : cu.findAll(ConstructorDeclaration.class)) {
+            BlockStmt body = throwNull();
+            NodeList<Statement> statements = constructor.getBody().getStatements();
+            if (!statements.isEmpty() && statements.get(0) instanceof ExplicitConstructorInvocationStmt) {
+                body.getStatements().addFirst(statements.get(0).clone());
+            }
+            constructor.setBody(body);
+        }
+        for (CompactConstructorDeclaration constructor : cu.findAll(CompactConstructorDeclaration.class)) {
+            constructor.setBody(throwNull());
+        }
+    }
+
+    private static boolean isInterfaceMember(FieldDeclaration field) {
+        Node parent = field.getParentNode().orElse(null);
+        return parent instanceof ClassOrInterfaceDeclaration && ((ClassOrInterfaceDeclaration) parent).isInterface()
+                || parent instanceof AnnotationDeclaration;
+    }
+
+    // Constant-like expressions, e.g. literals, other constants and arithmetic on them
+    private static boolean isSimple(Expression expr) {
+        if (expr.isLiteralExpr() || expr.isNameExpr() || expr.isClassExpr()) return true;
+        if (expr.isFieldAccessExpr()) return isSimple(expr.asFieldAccessExpr().getScope());
+        if (expr.isTypeExpr()) return true;
+        if (expr.isUnaryExpr()) return isSimple(expr.asUnaryExpr().getExpression());
+        if (expr.isBinaryExpr()) return isSimple(expr.asBinaryExpr().getLeft()) && isSimple(expr.asBinaryExpr().getRight());
+        if (expr.isEnclosedExpr()) return isSimple(expr.asEnclosedExpr().getInner());
+        if (expr.isCastExpr()) return isSimple(expr.asCastExpr().getExpression());
+        if (expr.isConditionalExpr()) {
+            ConditionalExpr c = expr.asConditionalExpr();
+            return isSimple(c.getCondition()) && isSimple(c.getThenExpr()) && isSimple(c.getElseExpr());
+        }
+        return false;
+    }
+
+    private static Expression defaultValue(Type type) {
+        if (!type.isPrimitiveType()) return new NullLiteralExpr();
+        PrimitiveType.Primitive primitive = type.asPrimitiveType().getType();
+        if (primitive == PrimitiveType.Primitive.BOOLEAN) return new BooleanLiteralExpr(false);
+        if (primitive == PrimitiveType.Primitive.CHAR) return new CharLiteralExpr("\\0");
+        return new IntegerLiteralExpr("0");
+    }
+
+    private static BlockStmt throwNull() {
+        return new BlockStmt(new NodeList<>(new ThrowStmt(new NullLiteralExpr())));
+    }
+
+    // Written to a temporary file first, other workers may read the same entry
+    private static void write(Path target, String source) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path tmp = Files.createTempFile(target.getParent(), "reduce", ".tmp");
+        try {
+            Files.writeString(tmp, source);
+            Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+}
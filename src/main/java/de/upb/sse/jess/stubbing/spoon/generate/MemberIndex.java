@@ -0,0 +1,103 @@
+package de.upb.sse.jess.stubbing.spoon.generate;
+
+import spoon.reflect.declaration.*;
+import spoon.reflect.reference.CtTypeReference;
+
+import java.util.*;
+
+/**
+ * Per-owner index of method and constructor signatures, so the stubber can check whether a member exists with a
+ * hash probe instead of comparing the parameter types of every member of the owner.
+ *
+ * Signature keys are the member name and the qualified names of the parameter types, with {@code Object} and
+ * {@code Unknown} folded into one key as the stubber treats them as the same type. Owners are indexed lazily and
+ * members appended since the last lookup (the stubber only appends) are indexed incrementally; removals and
+ * insertions are detected and re-index the owner. Hits are re-checked against the member's current parameters,
+ * as later passes may rewrite types. Call {@link #clear()} before a pass that runs after such rewrites.
+ */
+final class MemberIndex {
+    private static final String CONSTRUCTOR = "<init>";
+    private static final String OBJECT_OR_UNKNOWN = "java.lang.Object";
+
+    private final Map<CtType<?>, Owner> owners = new IdentityHashMap<>();
+
+    private static final class Owner {
+        final Map<String, List<CtExecutable<?>>> byKey = new HashMap<>();
+        int indexed;
+        CtTypeMember last;
+    }
+
+    boolean hasMethod(CtType<?> owner, String name, List<CtTypeReference<?>> paramTypes) {
+        return contains(owner, name, paramTypes);
+    }
+
+    boolean hasConstructor(CtClass<?> owner, List<CtTypeReference<?>> paramTypes) {
+        return contains(owner, CONSTRUCTOR, paramTypes);
+    }
+
+    void clear() {
+        owners.clear();
+    }
+
+    private boolean contains(CtType<?> owner, String name, List<CtTypeReference<?>> paramTypes) {
+        String key = key(name, paramTypes);
+        List<CtExecutable<?>> candidates = sync(owner).byKey.get(key);
+        if (candidates == null) return false;
+        for (CtExecutable<?> candidate : candidates) {
+            if (key(name, parameterTypes(candidate)).equals(key)) return true;
+        }
+        return false;
+    }
+
+    // Bring the owner's entry up to date with its members
+    private Owner sync(CtType<?> owner) {
+        List<CtTypeMember> members = owner.getTypeMembers();
+        Owner entry = owners.get(owner);
+        if (entry != null) {
+            boolean appendedOnly = members.size() >= entry.indexed
+                    && (entry.indexed == 0 || members.get(entry.indexed - 1) == entry.last);
+            if (!appendedOnly) entry = null;
+        }
+        if (entry == null) {
+            entry = new Owner();
+            owners.put(owner, entry);
+        }
+        for (int i = entry.indexed; i < members.size(); i++) {
+            CtTypeMember member = members.get(i);
+            if (member instanceof CtMethod) {
+                add(entry, member.getSimpleName(), (CtExecutable<?>) member);
+            } else if (member instanceof CtConstructor) {
+                add(entry, CONSTRUCTOR, (CtExecutable<?>) member);
+            }
+        }
+        entry.indexed = members.size();
+        entry.last = members.isEmpty() ? null : members.get(members.size() - 1);
+        return entry;
+    }
+
+    private static void add(Owner entry, String name, CtExecutable<?> executable) {
+        entry.byKey.computeIfAbsent(key(name, parameterTypes(executable)), k -> new ArrayList<>(1)).add(executable);
+    }
+
+    private static List<CtTypeReference<?>> parameterTypes(CtExecutable<?> executable) {
+        List<CtParameter<?>> params = executable.getParameters();
+        List<CtTypeReference<?>> types = new ArrayList<>(params.size());
+        for (CtParameter<?> p : params) types.add(p.getType());
+        return types;
+    }
+
+    static String key(String name, List<CtTypeReference<?>> paramTypes) {
+        StringBuilder sb = new StringBuilder(name).append('(');
+        for (int i = 0; i < paramTypes.size(); i++) {
+            if (i > 0) sb.append(',');
+            sb.append(typeKey(paramTypes.get(i)));
+        }
+        return sb.append(')').toString();
+    }
+
+    private static String typeKey(CtTypeReference<?> t) {
+        String qn = (t == null ? "void" : String.valueOf(t.getQualifiedName()));
+        if ("unknown.Unknown".equals(qn) || "Unknown".equals(qn)) return OBJECT_OR_UNKNOWN;
+        return qn;
+    }
+}
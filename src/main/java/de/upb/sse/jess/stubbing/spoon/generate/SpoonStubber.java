@@ -29,6 +29,7 @@ public final class SpoonStubber {
     private final List<String> createdFields = new ArrayList<>();
     private final List<String> createdCtors = new ArrayList<>();
     private final List<String> createdMethods = new ArrayList<>();
+    private final MemberIndex memberIndex = new MemberIndex(); // signatures of existing methods/constructors per owner
 
     /* ======================================================================
      *                              CONSTRUCTION
@@ -798,6 +799,7 @@ public final class SpoonStubber {
      */
     public int applyConstructorPlans(Collection<ConstructorStubPlan> plans) {
         int created = 0;
+        memberIndex.clear();
         if (plans == null || plans.isEmpty()) return created;
         for (ConstructorStubPlan p : plans) {
 
@@ -844,6 +846,7 @@ public final class SpoonStubber {
      */
     public int applyMethodPlans(Collection<MethodStubPlan> plans) {
         int created = 0;
+        memberIndex.clear(); // earlier passes may have rewritten parameter types
 
         // First pass: identify functional interfaces (those with "apply" or "make" method from method references)
         for (MethodStubPlan p : plans) {
@@ -1892,66 +1895,16 @@ public final class SpoonStubber {
      * Treats Object and Unknown as equivalent to avoid duplicate methods.
      */
     private boolean hasMethod(CtType<?> owner, String name, List<CtTypeReference<?>> paramTypes) {
-        for (CtMethod<?> m : owner.getMethods()) {
-            if (!m.getSimpleName().equals(name)) continue;
-            List<CtParameter<?>> ps = m.getParameters();
-            if (ps.size() != paramTypes.size()) continue;
-            boolean all = true;
-            for (int i = 0; i < ps.size(); i++) {
-                String a = readable(ps.get(i).getType());
-                String b = readable(paramTypes.get(i));
-                // Treat Object and Unknown as equivalent to avoid duplicates
-                if (Objects.equals(a, b)) {
-                    continue; // Exact match
-                }
-                // Check if both are Object or Unknown (equivalent)
-                boolean aIsObjectOrUnknown = "java.lang.Object".equals(a) || "unknown.Unknown".equals(a) || "Unknown".equals(a);
-                boolean bIsObjectOrUnknown = "java.lang.Object".equals(b) || "unknown.Unknown".equals(b) || "Unknown".equals(b);
-                if (aIsObjectOrUnknown && bIsObjectOrUnknown) {
-                    continue; // Both are Object/Unknown - equivalent
-                }
-                    all = false;
-                    break;
-            }
-            if (all) return true;
-        }
-        return false;
+        return memberIndex.hasMethod(owner, name, paramTypes);
     }
 
 
     /**
      * Check if a constructor with parameter signature exists.
-     * Enhanced to handle type compatibility (subtypes, generics, Object/Unknown equivalence).
+     * Requires exact parameter types, treating Object and Unknown as equivalent.
      */
     private boolean hasConstructor(CtClass<?> owner, List<CtTypeReference<?>> paramTypes) {
-        outer:
-        for (CtConstructor<?> c : owner.getConstructors()) {
-            List<CtParameter<?>> ps = c.getParameters();
-            if (ps.size() != paramTypes.size()) continue;
-            for (int i = 0; i < ps.size(); i++) {
-                String a = readable(ps.get(i).getType());
-                String b = readable(paramTypes.get(i));
-                
-                // Exact match
-                if (Objects.equals(a, b)) {
-                    continue;
-                }
-                
-                // Treat Object and Unknown as equivalent
-                boolean aIsObjectOrUnknown = "java.lang.Object".equals(a) || "unknown.Unknown".equals(a) || "Unknown".equals(a);
-                boolean bIsObjectOrUnknown = "java.lang.Object".equals(b) || "unknown.Unknown".equals(b) || "Unknown".equals(b);
-                if (aIsObjectOrUnknown && bIsObjectOrUnknown) {
-                    continue; // Both are Object/Unknown - equivalent
-                }
-                
-                // If types don't match exactly, check if they're compatible
-                // For now, we require exact match or Object/Unknown equivalence
-                // More sophisticated type compatibility checking could be added here
-                continue outer;
-            }
-            return true;
-        }
-        return false;
+        return memberIndex.hasConstructor(owner, paramTypes);
     }
     
     /**
@@ -3966,6 +3919,7 @@ public final class SpoonStubber {
      * Handles complex builder patterns: AbstractBuilder<T>, checkOrigin(), setters, etc.
      */
     public void fixBuilderPattern() {
+        memberIndex.clear();
         // OPTIMIZATION: Only process created types (slice types), not entire model
         if (createdTypes.isEmpty()) {
             return; // Nothing to process
@@ -5198,6 +5152,7 @@ public final class SpoonStubber {
      * Add Stream API interface methods to types that extend BaseStream.
      */
     public void addStreamApiMethods() {
+        memberIndex.clear();
         // OPTIMIZATION: Only process created types (slice types), not entire model
         if (createdTypes.isEmpty()) {
             return;
@@ -5983,6 +5938,7 @@ public final class SpoonStubber {
      * - No-arg constructor creation when needed
      */
     public void fixConstructorParameterHandling() {
+        memberIndex.clear();
         // First pass: Find all constructor calls and ensure matching constructors exist
         fixMissingConstructors();
         
@@ -6207,6 +6163,7 @@ public final class SpoonStubber {
      * - Reactive operators (map, flatMap, filter, etc.)
      */
     public void fixReactiveTypes() {
+        memberIndex.clear();
         // Find all Mono/Flux type references and ensure they have static factory methods
         ensureReactiveTypeStaticMethods();
         
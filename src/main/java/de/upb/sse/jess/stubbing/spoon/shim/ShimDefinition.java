@@ -20,7 +20,7 @@ public class ShimDefinition {
     public ShimDefinition(String fqn, Kind kind, List<String> methodNames) {
         this.fqn = fqn;
         this.kind = kind;
-        this.methodNames = methodNames;
+        this.methodNames = List.copyOf(methodNames);
     }
     
     public String getFqn() {
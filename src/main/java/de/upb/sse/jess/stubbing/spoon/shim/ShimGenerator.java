@@ -23,10 +23,52 @@ public class ShimGenerator {
 
     public ShimGenerator(Factory factory) {
         this.factory = factory;
-        this.shimDefinitions = new HashMap<>();
+        this.shimDefinitions = Library.SHIMS;
+    }
+
+    // Only used to build the shared shim library
+    private ShimGenerator() {
+        this.factory = null;
+        this.shimDefinitions = new LinkedHashMap<>();
         initializeCommonShims();
     }
 
+    /**
+     * Shim definitions are immutable and the same for every run, so they are built once per JVM
+     * (on first use) and shared by all generators, together with an index by simple name.
+     */
+    private static final class Library {
+        static final Map<String, ShimDefinition> SHIMS = Collections.unmodifiableMap(new ShimGenerator().shimDefinitions);
+        static final Map<String, List<String>> BY_SIMPLE_NAME = new HashMap<>();
+        static final Map<String, Integer> ORDER = new HashMap<>();
+        static {
+            for (String fqn : SHIMS.keySet()) {
+                BY_SIMPLE_NAME.computeIfAbsent(simpleName(fqn), k -> new ArrayList<>(1)).add(fqn);
+                ORDER.put(fqn, ORDER.size());
+            }
+        }
+    }
+
+    private static String simpleName(String name) {
+        return name.substring(name.lastIndexOf('.') + 1);
+    }
+
+    /**
+     * Shims matching the referenced types, in library order: shims named by a reference's FQN, and shims whose
+     * simple name is a reference's simple name (in case the FQN differs).
+     */
+    static List<String> matchingShims(Set<String> referencedTypes) {
+        Set<String> matches = new HashSet<>();
+        for (String ref : referencedTypes) {
+            if (ref == null) continue;
+            if (Library.SHIMS.containsKey(ref)) matches.add(ref);
+            matches.addAll(Library.BY_SIMPLE_NAME.getOrDefault(simpleName(ref), Collections.emptyList()));
+        }
+        List<String> ordered = new ArrayList<>(matches);
+        ordered.sort(Comparator.comparing(Library.ORDER::get));
+        return ordered;
+    }
+
     /**
      * Initialize predefined shims for common libraries.
      */
@@ -1365,20 +1407,10 @@ public class ShimGenerator {
         int generated = 0;
         boolean generateAll = referencedTypes == null || referencedTypes.isEmpty();
 
-        for (Map.Entry<String, ShimDefinition> entry : shimDefinitions.entrySet()) {
-            String fqn = entry.getKey();
-            ShimDefinition shim = entry.getValue();
-
-            // If we have a set of referenced types, only generate shims for those
-            if (!generateAll && !referencedTypes.contains(fqn)) {
-                // Also check by simple name (in case FQN differs)
-                String simpleName = fqn.substring(fqn.lastIndexOf('.') + 1);
-                boolean matchesSimple = referencedTypes.stream()
-                        .anyMatch(ref -> ref.endsWith("." + simpleName) || ref.equals(simpleName));
-                if (!matchesSimple) {
-                    continue; // Not referenced, skip
-                }
-            }
+        // If we have a set of referenced types, only generate shims for those
+        Collection<String> candidates = generateAll ? shimDefinitions.keySet() : matchingShims(referencedTypes);
+        for (String fqn : candidates) {
+            ShimDefinition shim = shimDefinitions.get(fqn);
 
             // Check if type already exists in the model
             CtType<?> existing = factory.Type().get(fqn);
@@ -0,0 +1,117 @@
+package de.upb.sse.jess.tool;
+
+import de.upb.sse.jess.api.PublicApi;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Compact binary results sink. Records are written with typed fields: strings as length-prefixed UTF-8
+ * (length -1 for null), flags as booleans, the status as its ordinal and the elapsed time as a long,
+ * followed by the dependency count and paths. The file starts with a magic number and format version.
+ */
+public class BinaryResultsSink implements ResultsSink {
+    private static final int MAGIC = 0x4A455353; // "JESS"
+    private static final int VERSION = 2;
+
+    private final DataOutputStream out;
+
+    public BinaryResultsSink(Path file) throws IOException {
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        this.out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)));
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+    }
+
+    @Override
+    public synchronized void write(RepositoryProcessor.MethodResult methodResult, Collection<Path> dependencies) throws IOException {
+        PublicApi.Result res = methodResult.result;
+        writeString(methodResult.binaryClassName);
+        writeString(methodResult.methodName);
+        writeString(methodResult.jvmDescriptor);
+        writeString(methodResult.sourceFile);
+        out.writeByte(res.status.ordinal());
+        writeString(res.classesOutDir == null ? null : res.classesOutDir.toString());
+        writeString(res.targetClassFile);
+        out.writeBoolean(res.targetHasCode);
+        out.writeBoolean(res.usedStubs);
+        writeString(res.depsResolved);
+        out.writeLong(res.elapsedMs);
+        writeString(res.notes);
+        out.writeInt(dependencies.size());
+        for (Path dep : dependencies) writeString(dep.toString());
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+
+    private void writeString(String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        int len = in.readInt();
+        if (len < 0) return null;
+        byte[] bytes = new byte[len];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public static void read(Path file, Consumer<ResultsStore.Record> consumer) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC) throw new IOException("Not a jess binary results file: " + file);
+            int version = in.readShort();
+            if (version != VERSION) throw new IOException("Unsupported jess binary results version " + version + ": " + file);
+            PublicApi.Status[] statuses = PublicApi.Status.values();
+            while (true) {
+                ResultsStore.Record r;
+                try {
+                    String cls = readString(in);
+                    String method = readString(in);
+                    String descriptor = readString(in);
+                    String sourceFile = readString(in);
+                    PublicApi.Status status = statuses[in.readByte()];
+                    String classesOutDir = readString(in);
+                    String targetClassFile = readString(in);
+                    boolean targetHasCode = in.readBoolean();
+                    boolean usedStubs = in.readBoolean();
+                    String depsResolved = readString(in);
+                    long elapsedMs = in.readLong();
+                    String notes = readString(in);
+                    int depCount = in.readInt();
+                    List<Path> deps = new ArrayList<>(depCount);
+                    for (int i = 0; i < depCount; i++) deps.add(Paths.get(readString(in)));
+
+                    PublicApi.Result res = new PublicApi.Result(status, classesOutDir == null ? null : Paths.get(classesOutDir),
+                            cls, Collections.emptyList(), targetClassFile, targetHasCode, usedStubs, depsResolved, elapsedMs, notes);
+                    r = new ResultsStore.Record(new RepositoryProcessor.MethodResult(cls, method, descriptor, sourceFile, res), deps);
+                } catch (EOFException e) {
+                    // End of file (or a record truncated by a crash)
+                    return;
+                }
+                consumer.accept(r);
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package de.upb.sse.jess.tool;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cost-aware ordering of the methods of a repository run.
+ *
+ * The expected cost of a method is estimated from its source file (size, number of imports, dependency
+ * fan-out into types declared in the repository, or the repository types in the method's closure in the
+ * {@link DependencyGraph}) and its own length, calibrated against historic timings
+ * from a previous run where available. Methods are dispatched longest-expected-first (LPT), which keeps a
+ * few huge classes from creating a long tail in parallel runs.
+ */
+public class CostScheduler {
+
+    /**
+     * Per-file inputs of the cost model, collected during method discovery.
+     */
+    private static class FileStats {
+        final long sizeBytes;
+        final int imports;
+        final Set<String> referencedTypes;
+
+        FileStats(long sizeBytes, int imports, Set<String> referencedTypes) {
+            this.sizeBytes = sizeBytes;
+            this.imports = imports;
+            this.referencedTypes = referencedTypes;
+        }
+    }
+
+    private final Map<Path, FileStats> fileStats = new ConcurrentHashMap<>();
+    private final Set<String> repositoryTypes = ConcurrentHashMap.newKeySet();
+    private final Map<String, Long> historicMs = new HashMap<>();
+    private double msPerCostUnit = 1.0;
+    private DependencyGraph dependencyGraph;
+
+    /**
+     * Record the cost inputs of a parsed repository file.
+     */
+    public void addFile(Path javaFile, CompilationUnit cu) {
+        long size;
+        try {
+            size = Files.size(javaFile);
+        } catch (IOException e) {
+            size = 0;
+        }
+        Set<String> referenced = new HashSet<>();
+        for (ClassOrInterfaceType t : cu.findAll(ClassOrInterfaceType.class)) referenced.add(t.getNameAsString());
+        for (TypeDeclaration<?> td : cu.findAll(TypeDeclaration.class)) repositoryTypes.add(td.getNameAsString());
+        fileStats.put(javaFile, new FileStats(size, cu.getImports().size(), referenced));
+    }
+
+    /**
+     * Use the timings of a previous run; unknown methods are estimated with the model, scaled so that
+     * model estimates and historic timings are comparable.
+     */
+    public void setHistory(ResultsStore history) {
+        historicMs.clear();
+        if (history == null) return;
+        for (ResultsStore.Record r : history.getRecords()) {
+            if (r.methodResult.result.elapsedMs > 0) historicMs.put(ResultsStore.key(r.methodResult), r.methodResult.result.elapsedMs);
+        }
+    }
+
+    /**
+     * Use the repository dependency graph: the fan-out of a method is then the number of repository types in
+     * its dependency closure instead of the types referenced by its file.
+     */
+    public void setDependencyGraph(DependencyGraph dependencyGraph) {
+        this.dependencyGraph = dependencyGraph;
+    }
+
+    /**
+     * Dependency fan-out of a file: number of distinct referenced types that are declared in the repository.
+     */
+    int fanOut(Path javaFile) {
+        FileStats stats = fileStats.get(javaFile);
+        if (stats == null) return 0;
+        int n = 0;
+        for (String t : stats.referencedTypes) {
+            if (repositoryTypes.contains(t)) n++;
+        }
+        return n;
+    }
+
+    private int fanOut(RepositoryProcessor.MethodToProcess m) {
+        if (dependencyGraph != null && m.methodSignature != null) {
+            String key = DependencyGraph.methodKey(m.binaryClassName, m.methodName, m.methodSignature, DescriptorBuilder.isConstructorDescriptor(m.jvmDescriptor));
+            int closureTypes = dependencyGraph.closureTypes(key);
+            if (closureTypes > 0) return closureTypes;
+        }
+        return fanOut(m.javaFile);
+    }
+
+    /**
+     * Model cost in abstract units; only the relative order matters unless calibrated by history.
+     */
+    double modelCost(RepositoryProcessor.MethodToProcess m) {
+        FileStats stats = fileStats.get(m.javaFile);
+        double cost = 1.0 + 0.05 * m.lines;
+        if (stats != null) {
+            cost += stats.sizeBytes / 2048.0 + 0.2 * stats.imports + fanOut(m);
+        }
+        return cost;
+    }
+
+    /**
+     * Expected duration of a method in milliseconds.
+     */
+    public double estimateMs(RepositoryProcessor.MethodToProcess m) {
+        Long historic = historicMs.get(ResultsStore.key(m.binaryClassName, m.methodName, m.jvmDescriptor));
+        return historic != null ? historic : modelCost(m) * msPerCostUnit;
+    }
+
+    /**
+     * Order the methods longest-expected-first. Ties keep their original (selection) order.
+     */
+    public List<RepositoryProcessor.MethodToProcess> longestFirst(List<RepositoryProcessor.MethodToProcess> methods) {
+        calibrate(methods);
+        Map<RepositoryProcessor.MethodToProcess, Double> estimates = new IdentityHashMap<>();
+        for (RepositoryProcessor.MethodToProcess m : methods) estimates.put(m, estimateMs(m));
+        List<RepositoryProcessor.MethodToProcess> ordered = new ArrayList<>(methods);
+        ordered.sort((a, b) -> Double.compare(estimates.get(b), estimates.get(a)));
+        return ordered;
+    }
+
+    // Scale model units to milliseconds using the methods that have historic timings
+    private void calibrate(List<RepositoryProcessor.MethodToProcess> methods) {
+        double modelSum = 0;
+        double historicSum = 0;
+        for (RepositoryProcessor.MethodToProcess m : methods) {
+            Long historic = historicMs.get(ResultsStore.key(m.binaryClassName, m.methodName, m.jvmDescriptor));
+            if (historic == null) continue;
+            modelSum += modelCost(m);
+            historicSum += historic;
+        }
+        msPerCostUnit = modelSum > 0 ? historicSum / modelSum : 1.0;
+    }
+
+    /**
+     * Lower bound of the makespan for the given method durations on {@code workers} parallel workers:
+     * the work cannot finish before the longest method, nor before the total work is evenly divided.
+     */
+    public static long idealMakespanMs(long totalWorkMs, long longestMs, int workers) {
+        return Math.max(longestMs, (totalWorkMs + workers - 1) / Math.max(1, workers));
+    }
+}
@@ -0,0 +1,104 @@
+package de.upb.sse.jess.tool;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Results sink writing RFC 4180 CSV with a header row. Null values are written as empty unquoted fields,
+ * empty strings as {@code ""}. Dependencies are joined with the platform path separator.
+ */
+public class CsvResultsSink implements ResultsSink {
+    private final BufferedWriter writer;
+
+    public CsvResultsSink(Path file) throws IOException {
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+        writer.write(String.join(",", ResultsStore.FIELDS));
+        writer.write("\r\n");
+        writer.flush();
+    }
+
+    @Override
+    public synchronized void write(RepositoryProcessor.MethodResult methodResult, Collection<Path> dependencies) throws IOException {
+        String[] values = ResultsStore.toFields(new ResultsStore.Record(methodResult, dependencies));
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) sb.append(',');
+            if (values[i] != null) sb.append('"').append(values[i].replace("\"", "\"\"")).append('"');
+        }
+        sb.append("\r\n");
+        writer.write(sb.toString());
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+
+    public static void read(Path file, Consumer<ResultsStore.Record> consumer) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            boolean header = true;
+            List<String> row;
+            while ((row = readRow(reader)) != null) {
+                if (header) {
+                    header = false;
+                    continue;
+                }
+                ResultsStore.Record r = ResultsStore.fromFields(row.toArray(new String[0]));
+                if (r != null) consumer.accept(r);
+            }
+        }
+    }
+
+    // Quoted fields may span multiple lines, so rows are read character by character
+    private static List<String> readRow(BufferedReader reader) throws IOException {
+        List<String> row = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean inQuotes = false;
+        int c = reader.read();
+        if (c < 0) return null;
+        while (true) {
+            if (c < 0) {
+                row.add(quoted ? field.toString() : null);
+                return row;
+            }
+            if (inQuotes) {
+                if (c == '"') {
+                    reader.mark(1);
+                    int next = reader.read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        inQuotes = false;
+                        if (next >= 0) reader.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"') {
+                inQuotes = true;
+                quoted = true;
+            } else if (c == ',') {
+                row.add(quoted ? field.toString() : null);
+                field.setLength(0);
+                quoted = false;
+            } else if (c == '\n') {
+                row.add(quoted ? field.toString() : null);
+                return row;
+            } else if (c != '\r') {
+                field.append((char) c);
+                quoted = true;
+            }
+            c = reader.read();
+        }
+    }
+}
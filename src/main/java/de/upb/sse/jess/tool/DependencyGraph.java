@@ -0,0 +1,292 @@
+package de.upb.sse.jess.tool;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.*;
+import com.github.javaparser.ast.expr.*;
+import com.github.javaparser.ast.stmt.ExplicitConstructorInvocationStmt;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.ast.type.Type;
+
+import java.util.*;
+
+/**
+ * Member-level dependency graph of a repository, computed once from source without symbol resolution.
+ *
+ * Nodes are types ({@code p/A$B}), methods and constructors ({@code p/A#m/2}, {@code p/A#<init>/1}) and
+ * fields ({@code p/A#f}). A member depends on its declaring type and on the types, methods, constructors
+ * and fields referenced in its declaration; a type depends on its outer type, supertypes and initializers.
+ * Receivers are typed syntactically (declared types of locals, parameters and fields, type names of static
+ * calls). Members of typed receivers are looked up along the supertypes; a call on an untyped receiver
+ * (e.g. the result of another call) depends on all repository members with that name and arity, unless
+ * the name is too common to be informative. The number of types in a method's closure thus approximates how
+ * much its slice pulls in; it is an input of the {@link CostScheduler} cost model, the slicer does not use it.
+ *
+ * Files are added concurrently during discovery, {@link #freeze()} then links the references into a
+ * compact adjacency array.
+ */
+public class DependencyGraph {
+    private static final int MAX_UNTYPED_CANDIDATES = 16;
+
+    private final DescriptorBuilder names;
+
+    // Raw references per node, collected during discovery
+    private final Map<String, Set<String>> references = new HashMap<>();
+    private final Map<String, List<String>> supertypes = new HashMap<>();
+
+    // Linked graph
+    private String[] nodes;
+    private Map<String, Integer> ids;
+    private int[][] edges;
+
+    public DependencyGraph(DescriptorBuilder names) {
+        this.names = names;
+    }
+
+    /**
+     * Record the declarations of a repository file. Thread-safe.
+     */
+    public void addFile(CompilationUnit cu, DescriptorBuilder.FileContext ctx) {
+        Map<String, Set<String>> fileReferences = new HashMap<>();
+        Map<String, List<String>> fileSupertypes = new HashMap<>();
+
+        for (TypeDeclaration<?> td : cu.findAll(TypeDeclaration.class)) {
+            String type = DescriptorBuilder.binaryNameOf(td, ctx);
+            Set<String> typeRefs = fileReferences.computeIfAbsent(type, k -> new HashSet<>());
+            td.getParentNode().filter(p -> p instanceof TypeDeclaration)
+                    .ifPresent(p -> typeRefs.add(DescriptorBuilder.binaryNameOf((TypeDeclaration<?>) p, ctx)));
+
+            List<String> supers = new ArrayList<>();
+            if (td instanceof ClassOrInterfaceDeclaration) {
+                ClassOrInterfaceDeclaration cid = (ClassOrInterfaceDeclaration) td;
+                cid.getExtendedTypes().forEach(t -> supers.add(typeName(t, ctx)));
+                cid.getImplementedTypes().forEach(t -> supers.add(typeName(t, ctx)));
+            } else if (td instanceof EnumDeclaration) {
+                ((EnumDeclaration) td).getImplementedTypes().forEach(t -> supers.add(typeName(t, ctx)));
+            }
+            typeRefs.addAll(supers);
+            fileSupertypes.put(type, supers);
+
+            Map<String, Type> fieldTypes = new HashMap<>();
+            for (FieldDeclaration fd : td.getFields()) {
+                fd.getVariables().forEach(v -> fieldTypes.put(v.getNameAsString(), v.getType()));
+            }
+
+            for (BodyDeclaration<?> member : td.getMembers()) {
+                if (member instanceof MethodDeclaration) {
+                    MethodDeclaration md = (MethodDeclaration) member;
+                    fileReferences.put(memberKey(type, md.getNameAsString(), md.getParameters().size()),
+                            memberReferences(md, type, supers, fieldTypes, ctx));
+                } else if (member instanceof ConstructorDeclaration) {
+                    ConstructorDeclaration cd = (ConstructorDeclaration) member;
+                    fileReferences.put(memberKey(type, "<init>", cd.getParameters().size()),
+                            memberReferences(cd, type, supers, fieldTypes, ctx));
+                } else if (member instanceof FieldDeclaration) {
+                    FieldDeclaration fd = (FieldDeclaration) member;
+                    Set<String> refs = memberReferences(fd, type, supers, fieldTypes, ctx);
+                    for (VariableDeclarator v : fd.getVariables()) {
+                        String key = type + "#" + v.getNameAsString();
+                        fileReferences.put(key, new HashSet<>(refs));
+                        // Initializers run with the class or its constructors
+                        if (v.getInitializer().isPresent()) typeRefs.add(key);
+                    }
+                } else if (member instanceof InitializerDeclaration) {
+                    InitializerDeclaration id = (InitializerDeclaration) member;
+                    String key = type + "#" + (id.isStatic() ? "<clinit>" : "<init-block>");
+                    fileReferences.computeIfAbsent(key, k -> new HashSet<>()).addAll(memberReferences(id, type, supers, fieldTypes, ctx));
+                    typeRefs.add(key);
+                }
+            }
+            if (td instanceof EnumDeclaration) {
+                for (EnumConstantDeclaration ecd : ((EnumDeclaration) td).getEntries()) {
+                    String key = type + "#" + ecd.getNameAsString();
+                    fileReferences.put(key, memberReferences(ecd, type, supers, fieldTypes, ctx));
+                    typeRefs.add(key);
+                }
+            }
+        }
+
+        synchronized (this) {
+            fileReferences.forEach((k, v) -> references.merge(k, v, (a, b) -> { a.addAll(b); return a; }));
+            supertypes.putAll(fileSupertypes);
+        }
+    }
+
+    /**
+     * Resolve the collected references into the compact graph. Must be called after all files were added.
+     */
+    public synchronized void freeze() {
+        ids = new HashMap<>();
+        List<String> nodeList = new ArrayList<>(references.keySet());
+        Collections.sort(nodeList);
+        for (String n : nodeList) ids.put(n, ids.size());
+
+        // Members by name and arity ("m/2"), for untyped receivers
+        Map<String, List<String>> byName = new HashMap<>();
+        for (String n : nodeList) {
+            int hash = n.indexOf('#');
+            if (hash > 0) byName.computeIfAbsent(n.substring(hash + 1), k -> new ArrayList<>()).add(n);
+        }
+
+        List<int[]> adjacency = new ArrayList<>(nodeList.size());
+        for (String n : nodeList) {
+            Set<Integer> targets = new TreeSet<>();
+            String declaringType = n.indexOf('#') > 0 ? n.substring(0, n.indexOf('#')) : null;
+            if (declaringType != null && ids.containsKey(declaringType)) targets.add(ids.get(declaringType));
+
+            for (String ref : references.get(n)) {
+                if (ref.startsWith("#")) {
+                    List<String> candidates = byName.getOrDefault(ref.substring(1), Collections.emptyList());
+                    if (candidates.size() > MAX_UNTYPED_CANDIDATES) continue;
+                    candidates.forEach(c -> targets.add(ids.get(c)));
+                } else if (ref.indexOf('#') > 0) {
+                    String owner = ref.substring(0, ref.indexOf('#'));
+                    String member = lookup(owner, ref.substring(ref.indexOf('#') + 1));
+                    if (member != null) targets.add(ids.get(member));
+                } else if (ids.containsKey(ref)) {
+                    targets.add(ids.get(ref));
+                }
+            }
+            targets.remove(ids.get(n));
+            adjacency.add(targets.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        nodes = nodeList.toArray(new String[0]);
+        edges = adjacency.toArray(new int[0][]);
+        references.clear();
+    }
+
+    /**
+     * Number of repository types reachable from the given node (including itself); 0 if it is unknown.
+     */
+    public int closureTypes(String key) {
+        Integer start = ids == null ? null : ids.get(key);
+        if (start == null) return 0;
+
+        BitSet visited = new BitSet(nodes.length);
+        Deque<Integer> worklist = new ArrayDeque<>();
+        visited.set(start);
+        worklist.add(start);
+        int types = 0;
+        while (!worklist.isEmpty()) {
+            int node = worklist.poll();
+            if (nodes[node].indexOf('#') < 0) types++;
+            for (int next : edges[node]) {
+                if (visited.get(next)) continue;
+                visited.set(next);
+                worklist.add(next);
+            }
+        }
+        return types;
+    }
+
+    public int size() {
+        return nodes == null ? 0 : nodes.length;
+    }
+
+    /**
+     * Node of a method or constructor (signature as in {@code m(int, java.util.Map<K, V>)}).
+     */
+    public static String methodKey(String binaryClassName, String name, String signature, boolean constructor) {
+        return memberKey(binaryClassName, constructor ? "<init>" : name, arity(signature));
+    }
+
+    static int arity(String signature) {
+        int open = signature.indexOf('(');
+        int close = signature.lastIndexOf(')');
+        if (open < 0 || close <= open + 1 || signature.substring(open + 1, close).isBlank()) return 0;
+        int arity = 1;
+        int depth = 0;
+        for (int i = open + 1; i < close; i++) {
+            char c = signature.charAt(i);
+            if (c == '<') depth++;
+            else if (c == '>') depth--;
+            else if (c == ',' && depth == 0) arity++;
+        }
+        return arity;
+    }
+
+    private static String memberKey(String type, String name, int arity) {
+        return type + "#" + name + "/" + arity;
+    }
+
+    // Declaration of a member in the type or its supertypes (breadth-first)
+    private String lookup(String type, String member) {
+        Set<String> seen = new HashSet<>();
+        Deque<String> worklist = new ArrayDeque<>(List.of(type));
+        while (!worklist.isEmpty()) {
+            String t = worklist.poll();
+            if (!seen.add(t)) continue;
+            String key = t + "#" + member;
+            if (ids.containsKey(key)) return key;
+            worklist.addAll(supertypes.getOrDefault(t, Collections.emptyList()));
+        }
+        return null;
+    }
+
+    private Set<String> memberReferences(Node member, String type, List<String> supers, Map<String, Type> fieldTypes,
+                                         DescriptorBuilder.FileContext ctx) {
+        Map<String, Type> localTypes = new HashMap<>();
+        member.findAll(Parameter.class).forEach(p -> localTypes.put(p.getNameAsString(), p.getType()));
+        member.findAll(VariableDeclarationExpr.class).forEach(vde ->
+                vde.getVariables().forEach(v -> localTypes.put(v.getNameAsString(), v.getType())));
+
+        Set<String> refs = new HashSet<>();
+        for (ClassOrInterfaceType t : member.findAll(ClassOrInterfaceType.class)) {
+            if (t.getParentNode().filter(p -> p instanceof ClassOrInterfaceType).isPresent()) continue;
+            refs.add(typeName(t, ctx));
+        }
+        refs.remove(null);
+        for (MethodCallExpr mce : member.findAll(MethodCallExpr.class)) {
+            String receiver = receiverType(mce.getScope().orElse(null), mce, type, localTypes, fieldTypes, ctx);
+            String name = mce.getNameAsString() + "/" + mce.getArguments().size();
+            refs.add(receiver == null ? "#" + name : receiver + "#" + name);
+        }
+        for (ObjectCreationExpr oce : member.findAll(ObjectCreationExpr.class)) {
+            refs.add(typeName(oce.getType(), ctx) + "#<init>/" + oce.getArguments().size());
+        }
+        for (ExplicitConstructorInvocationStmt ecis : member.findAll(ExplicitConstructorInvocationStmt.class)) {
+            String init = "#<init>/" + ecis.getArguments().size();
+            if (ecis.isThis()) refs.add(type + init);
+            else supers.forEach(s -> refs.add(s + init));
+        }
+        for (FieldAccessExpr fae : member.findAll(FieldAccessExpr.class)) {
+            String receiver = receiverType(fae.getScope(), fae, type, localTypes, fieldTypes, ctx);
+            refs.add(receiver == null ? "#" + fae.getNameAsString() : receiver + "#" + fae.getNameAsString());
+        }
+        for (NameExpr ne : member.findAll(NameExpr.class)) {
+            String name = ne.getNameAsString();
+            if (!localTypes.containsKey(name) && fieldTypes.containsKey(name)) refs.add(type + "#" + name);
+        }
+        for (MethodReferenceExpr mre : member.findAll(MethodReferenceExpr.class)) {
+            // Arity is unknown, depend on the type only
+            if (mre.getScope().isTypeExpr()) refs.add(typeName(mre.getScope().asTypeExpr().getType(), ctx));
+        }
+        return refs;
+    }
+
+    // Binary name of the static type of a receiver expression, null if it cannot be typed syntactically
+    private String receiverType(Expression scope, Node at, String type, Map<String, Type> localTypes,
+                                Map<String, Type> fieldTypes, DescriptorBuilder.FileContext ctx) {
+        if (scope == null || scope.isThisExpr() || scope.isSuperExpr()) return type;
+        if (scope.isNameExpr()) {
+            String name = scope.asNameExpr().getNameAsString();
+            if (localTypes.containsKey(name)) return typeName(localTypes.get(name), ctx);
+            if (fieldTypes.containsKey(name)) return typeName(fieldTypes.get(name), ctx);
+            if (!name.isEmpty() && Character.isUpperCase(name.charAt(0))) return names.binaryName(name, at, ctx);
+            return null;
+        }
+        if (scope.isFieldAccessExpr() && scope.asFieldAccessExpr().getScope().isThisExpr()) {
+            Type fieldType = fieldTypes.get(scope.asFieldAccessExpr().getNameAsString());
+            return fieldType == null ? null : typeName(fieldType, ctx);
+        }
+        if (scope.isTypeExpr()) return typeName(scope.asTypeExpr().getType(), ctx);
+        return null;
+    }
+
+    private String typeName(Type type, DescriptorBuilder.FileContext ctx) {
+        Type element = type.getElementType();
+        if (!element.isClassOrInterfaceType()) return null;
+        return names.binaryName(element.asClassOrInterfaceType().getNameWithScope(), element, ctx);
+    }
+}
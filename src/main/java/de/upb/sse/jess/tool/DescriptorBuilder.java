@@ -0,0 +1,247 @@
+package de.upb.sse.jess.tool;
+
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.ImportDeclaration;
+import com.github.javaparser.ast.Node;
+import com.github.javaparser.ast.body.ClassOrInterfaceDeclaration;
+import com.github.javaparser.ast.body.ConstructorDeclaration;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import com.github.javaparser.ast.body.Parameter;
+import com.github.javaparser.ast.body.TypeDeclaration;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.ast.type.Type;
+import com.github.javaparser.ast.type.TypeParameter;
+import de.upb.sse.jess.finder.PackageFinder;
+import de.upb.sse.jess.resolution.JdkTypes;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Computes JVM method descriptors from source without JavaParser symbol resolution.
+ *
+ * Type names are resolved with the Java scoping rules that matter for descriptors: type variables
+ * (erased to their first bound), member types of the enclosing classes, types of the same compilation
+ * unit, single-type imports, the same package, java.lang and on-demand imports. Repository types come
+ * from an index of top-level types (package + file name) that is filled before discovery; JDK types are
+ * looked up in {@link JdkTypes}. Resolved names are cached per file and enclosing type.
+ */
+public class DescriptorBuilder {
+    private static final String OBJECT = "java/lang/Object";
+    private static final String CONSTRUCTOR_PREFIX = "<init>";
+
+    private final Set<String> repositoryTypes = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Per-file resolution context with its own name cache.
+     */
+    public static class FileContext {
+        final String packageName;
+        final Map<String, String> singleImports = new HashMap<>();
+        final List<String> onDemandImports = new ArrayList<>();
+        final Set<String> topLevelTypes = new HashSet<>();
+        final Map<String, String> cache = new HashMap<>();
+
+        FileContext(CompilationUnit cu) {
+            this.packageName = cu.getPackageDeclaration().map(p -> p.getNameAsString()).orElse("");
+            for (ImportDeclaration im : cu.getImports()) {
+                if (im.isStatic()) continue;
+                String name = im.getNameAsString();
+                if (im.isAsterisk()) onDemandImports.add(name);
+                else singleImports.put(name.substring(name.lastIndexOf('.') + 1), name);
+            }
+            for (TypeDeclaration<?> td : cu.getTypes()) topLevelTypes.add(td.getNameAsString());
+        }
+    }
+
+    /**
+     * Register the top-level type of a repository file, named after the file.
+     */
+    public void addFile(Path javaFile) {
+        String fileName = javaFile.getFileName().toString();
+        if (!fileName.endsWith(".java")) return;
+        String simpleName = fileName.substring(0, fileName.length() - ".java".length());
+        try {
+            String packageName = PackageFinder.getPackageName(javaFile.toString());
+            repositoryTypes.add(packageName.isEmpty() ? simpleName : packageName + "." + simpleName);
+        } catch (IOException ignored) {
+        }
+    }
+
+    public FileContext newContext(CompilationUnit cu) {
+        return new FileContext(cu);
+    }
+
+    /**
+     * JVM descriptor of a method, e.g. {@code (Ljava/util/List;[I)V}.
+     */
+    public String methodDescriptor(MethodDeclaration method, FileContext ctx) {
+        String enclosing = enclosingBinaryName(method, ctx);
+        StringBuilder descriptor = new StringBuilder("(");
+        for (Parameter param : method.getParameters()) {
+            if (param.isVarArgs()) descriptor.append('[');
+            descriptor.append(typeDescriptor(param.getType(), method, enclosing, ctx, 0));
+        }
+        descriptor.append(')');
+        descriptor.append(typeDescriptor(method.getType(), method, enclosing, ctx, 0));
+        return descriptor.toString();
+    }
+
+    /**
+     * Descriptor of a constructor, prefixed with {@code <init>} so constructors stay recognizable,
+     * e.g. {@code <init>(ILjava/lang/String;)V}.
+     */
+    public String constructorDescriptor(ConstructorDeclaration constructor, FileContext ctx) {
+        String enclosing = enclosingBinaryName(constructor, ctx);
+        StringBuilder descriptor = new StringBuilder(CONSTRUCTOR_PREFIX).append('(');
+        for (Parameter param : constructor.getParameters()) {
+            if (param.isVarArgs()) descriptor.append('[');
+            descriptor.append(typeDescriptor(param.getType(), constructor, enclosing, ctx, 0));
+        }
+        return descriptor.append(")V").toString();
+    }
+
+    public static boolean isConstructorDescriptor(String jvmDescriptor) {
+        return jvmDescriptor != null && jvmDescriptor.startsWith(CONSTRUCTOR_PREFIX);
+    }
+
+    /**
+     * Binary name of a (possibly qualified) type name used at {@code scope}, e.g. {@code p/Outer$Inner}.
+     * Type variables are not erased; names that cannot be resolved are taken to be in the same package.
+     */
+    String binaryName(String name, Node scope, FileContext ctx) {
+        String enclosing = enclosingBinaryName(scope, ctx);
+        return ctx.cache.computeIfAbsent(enclosing + "#" + name, k -> resolve(name, scope, ctx));
+    }
+
+    private String typeDescriptor(Type type, Node scope, String enclosing, FileContext ctx, int depth) {
+        if (type.isVoidType()) return "V";
+        if (type.isPrimitiveType()) return type.asPrimitiveType().getType().toDescriptor();
+        if (type.isArrayType()) return "[" + typeDescriptor(type.asArrayType().getComponentType(), scope, enclosing, ctx, depth);
+        if (type.isClassOrInterfaceType()) {
+            return "L" + binaryName(type.asClassOrInterfaceType(), scope, enclosing, ctx, depth) + ";";
+        }
+        return "L" + OBJECT + ";";
+    }
+
+    private String binaryName(ClassOrInterfaceType type, Node scope, String enclosing, FileContext ctx, int depth) {
+        String name = type.getNameWithScope();
+        if (!name.contains(".")) {
+            // Type variables are erased to their first bound
+            TypeParameter typeParameter = findTypeParameter(name, scope);
+            if (typeParameter != null) {
+                if (typeParameter.getTypeBound().isEmpty() || depth > 8) return OBJECT;
+                return binaryName(typeParameter.getTypeBound().get(0), typeParameter, enclosing, ctx, depth + 1);
+            }
+        }
+        return ctx.cache.computeIfAbsent(enclosing + "#" + name, k -> resolve(name, scope, ctx));
+    }
+
+    private String resolve(String name, Node scope, FileContext ctx) {
+        int dot = name.indexOf('.');
+        String first = dot < 0 ? name : name.substring(0, dot);
+        String rest = dot < 0 ? "" : name.substring(dot + 1).replace('.', '$');
+
+        String resolved = resolveSimpleName(first, scope, ctx);
+        if (resolved == null) {
+            // Package-qualified name (e.g. java.util.Map.Entry)
+            if (dot > 0 && Character.isLowerCase(first.charAt(0))) return qualifiedToBinary(name);
+            resolved = toInternal(ctx.packageName, first);
+        }
+        return rest.isEmpty() ? resolved : resolved + "$" + rest;
+    }
+
+    private String resolveSimpleName(String simpleName, Node scope, FileContext ctx) {
+        // Member types of enclosing classes, innermost first
+        for (Node n = scope; n != null; n = n.getParentNode().orElse(null)) {
+            if (!(n instanceof TypeDeclaration)) continue;
+            TypeDeclaration<?> td = (TypeDeclaration<?>) n;
+            String binary = binaryNameOf(td, ctx);
+            if (td.getNameAsString().equals(simpleName)) return binary;
+            for (Node member : td.getMembers()) {
+                if (member instanceof TypeDeclaration && ((TypeDeclaration<?>) member).getNameAsString().equals(simpleName)) {
+                    return binary + "$" + simpleName;
+                }
+            }
+        }
+        if (ctx.topLevelTypes.contains(simpleName)) return toInternal(ctx.packageName, simpleName);
+
+        String imported = ctx.singleImports.get(simpleName);
+        if (imported != null) return qualifiedToBinary(imported);
+
+        String samePackage = ctx.packageName.isEmpty() ? simpleName : ctx.packageName + "." + simpleName;
+        if (repositoryTypes.contains(samePackage)) return toInternal(ctx.packageName, simpleName);
+        if (JdkTypes.isJdkType("java.lang." + simpleName)) return "java/lang/" + simpleName;
+
+        for (String onDemand : ctx.onDemandImports) {
+            String candidate = onDemand + "." + simpleName;
+            if (repositoryTypes.contains(candidate) || JdkTypes.isJdkType(candidate)) return qualifiedToBinary(candidate);
+        }
+        return null;
+    }
+
+    /**
+     * Binary name of a dotted name: the shortest prefix that is a known type is the outer class, the
+     * remaining segments are member types. Without a known prefix, the first capitalized segment starts the class.
+     */
+    String qualifiedToBinary(String qualifiedName) {
+        String[] segments = qualifiedName.split("\\.");
+        int classStart = -1;
+        StringBuilder prefix = new StringBuilder();
+        for (int i = 0; i < segments.length; i++) {
+            if (i > 0) prefix.append('.');
+            prefix.append(segments[i]);
+            String candidate = prefix.toString();
+            if (repositoryTypes.contains(candidate) || JdkTypes.isJdkType(candidate)) {
+                classStart = i;
+                break;
+            }
+        }
+        if (classStart < 0) {
+            for (int i = 0; i < segments.length && classStart < 0; i++) {
+                if (!segments[i].isEmpty() && Character.isUpperCase(segments[i].charAt(0))) classStart = i;
+            }
+            if (classStart < 0) classStart = segments.length - 1;
+        }
+        StringBuilder binary = new StringBuilder();
+        for (int i = 0; i < segments.length; i++) {
+            if (i > 0) binary.append(i <= classStart ? '/' : '$');
+            binary.append(segments[i]);
+        }
+        return binary.toString();
+    }
+
+
+    private static TypeParameter findTypeParameter(String name, Node scope) {
+        for (Node n = scope; n != null; n = n.getParentNode().orElse(null)) {
+            List<TypeParameter> typeParameters = Collections.emptyList();
+            if (n instanceof MethodDeclaration) typeParameters = ((MethodDeclaration) n).getTypeParameters();
+            else if (n instanceof ClassOrInterfaceDeclaration) typeParameters = ((ClassOrInterfaceDeclaration) n).getTypeParameters();
+            for (TypeParameter tp : typeParameters) {
+                if (tp.getNameAsString().equals(name)) return tp;
+            }
+        }
+        return null;
+    }
+
+    private static String enclosingBinaryName(Node node, FileContext ctx) {
+        for (Node n = node.getParentNode().orElse(null); n != null; n = n.getParentNode().orElse(null)) {
+            if (n instanceof TypeDeclaration) return binaryNameOf((TypeDeclaration<?>) n, ctx);
+        }
+        return toInternal(ctx.packageName, "");
+    }
+
+    static String binaryNameOf(TypeDeclaration<?> td, FileContext ctx) {
+        StringBuilder name = new StringBuilder(td.getNameAsString());
+        for (Node n = td.getParentNode().orElse(null); n != null; n = n.getParentNode().orElse(null)) {
+            if (n instanceof TypeDeclaration) name.insert(0, ((TypeDeclaration<?>) n).getNameAsString() + "$");
+        }
+        return toInternal(ctx.packageName, name.toString());
+    }
+
+    private static String toInternal(String packageName, String name) {
+        return packageName.isEmpty() ? name : packageName.replace('.', '/') + "/" + name;
+    }
+}
@@ -0,0 +1,179 @@
+package de.upb.sse.jess.tool;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.function.Consumer;
+
+/**
+ * Results sink writing one JSON object per line (JSON Lines).
+ */
+public class JsonLinesResultsSink implements ResultsSink {
+    private static final Set<String> BOOLEAN_FIELDS = Set.of("targetHasCode", "usedStubs");
+    private static final Set<String> NUMBER_FIELDS = Set.of("elapsedMs");
+    private static final String DEPENDENCIES = "dependencies";
+
+    private final BufferedWriter writer;
+
+    public JsonLinesResultsSink(Path file) throws IOException {
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public synchronized void write(RepositoryProcessor.MethodResult methodResult, Collection<Path> dependencies) throws IOException {
+        String[] values = ResultsStore.toFields(new ResultsStore.Record(methodResult, dependencies));
+        StringBuilder sb = new StringBuilder("{");
+        for (int i = 0; i < values.length; i++) {
+            String name = ResultsStore.FIELDS[i];
+            if (i > 0) sb.append(',');
+            quote(sb, name);
+            sb.append(':');
+            if (values[i] == null) {
+                sb.append("null");
+            } else if (BOOLEAN_FIELDS.contains(name) || NUMBER_FIELDS.contains(name)) {
+                sb.append(values[i]);
+            } else if (DEPENDENCIES.equals(name)) {
+                sb.append('[');
+                boolean first = true;
+                for (Path dep : dependencies) {
+                    if (!first) sb.append(',');
+                    first = false;
+                    quote(sb, dep.toString());
+                }
+                sb.append(']');
+            } else {
+                quote(sb, values[i]);
+            }
+        }
+        sb.append('}');
+        writer.write(sb.toString());
+        writer.newLine();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+
+    public static void read(Path file, Consumer<ResultsStore.Record> consumer) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) continue;
+                Map<String, String> object = parseFlatObject(line);
+                if (object == null) continue;
+                String[] values = new String[ResultsStore.FIELDS.length];
+                for (int i = 0; i < values.length; i++) values[i] = object.get(ResultsStore.FIELDS[i]);
+                ResultsStore.Record r = ResultsStore.fromFields(values);
+                if (r != null) consumer.accept(r);
+            }
+        }
+    }
+
+    private static void quote(StringBuilder sb, String s) {
+        sb.append('"');
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+                    else sb.append(c);
+            }
+        }
+        sb.append('"');
+    }
+
+    /**
+     * Minimal parser for the objects written by this sink: string, number, boolean and null values, and
+     * arrays of strings (joined with the path separator). Returns null if the line is not such an object.
+     */
+    private static Map<String, String> parseFlatObject(String line) {
+        int[] pos = {skipWs(line, 0)};
+        if (pos[0] >= line.length() || line.charAt(pos[0]) != '{') return null;
+        pos[0]++;
+        Map<String, String> result = new HashMap<>();
+        try {
+            while (true) {
+                pos[0] = skipWs(line, pos[0]);
+                if (line.charAt(pos[0]) == '}') return result;
+                String key = parseString(line, pos);
+                pos[0] = skipWs(line, pos[0]);
+                if (line.charAt(pos[0]++) != ':') return null;
+                pos[0] = skipWs(line, pos[0]);
+                result.put(key, parseValue(line, pos));
+                pos[0] = skipWs(line, pos[0]);
+                char c = line.charAt(pos[0]++);
+                if (c == '}') return result;
+                if (c != ',') return null;
+            }
+        } catch (RuntimeException e) {
+            System.err.println("[JsonLinesResultsSink] Skipping malformed line: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static String parseValue(String s, int[] pos) {
+        char c = s.charAt(pos[0]);
+        if (c == '"') return parseString(s, pos);
+        if (c == '[') {
+            pos[0]++;
+            List<String> items = new ArrayList<>();
+            while (true) {
+                pos[0] = skipWs(s, pos[0]);
+                if (s.charAt(pos[0]) == ']') {
+                    pos[0]++;
+                    return String.join(File.pathSeparator, items);
+                }
+                items.add(parseValue(s, pos));
+                pos[0] = skipWs(s, pos[0]);
+                if (s.charAt(pos[0]) == ',') pos[0]++;
+            }
+        }
+        int start = pos[0];
+        while (pos[0] < s.length() && ",}] \t".indexOf(s.charAt(pos[0])) < 0) pos[0]++;
+        String literal = s.substring(start, pos[0]);
+        return "null".equals(literal) ? null : literal;
+    }
+
+    private static String parseString(String s, int[] pos) {
+        if (s.charAt(pos[0]) != '"') throw new IllegalArgumentException("Expected string at " + pos[0]);
+        StringBuilder sb = new StringBuilder();
+        int i = pos[0] + 1;
+        while (true) {
+            char c = s.charAt(i++);
+            if (c == '"') break;
+            if (c != '\\') {
+                sb.append(c);
+                continue;
+            }
+            char e = s.charAt(i++);
+            switch (e) {
+                case 'n': sb.append('\n'); break;
+                case 'r': sb.append('\r'); break;
+                case 't': sb.append('\t'); break;
+                case 'b': sb.append('\b'); break;
+                case 'f': sb.append('\f'); break;
+                case 'u': sb.append((char) Integer.parseInt(s.substring(i, i + 4), 16)); i += 4; break;
+                default: sb.append(e);
+            }
+        }
+        pos[0] = i;
+        return sb.toString();
+    }
+
+    private static int skipWs(String s, int i) {
+        while (i < s.length() && Character.isWhitespace(s.charAt(i))) i++;
+        return i;
+    }
+}
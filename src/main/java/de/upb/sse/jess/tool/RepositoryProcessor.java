@@ -9,20 +9,26 @@ import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.ast.body.TypeDeclaration;
 import com.github.javaparser.ast.expr.ObjectCreationExpr;
 import com.github.javaparser.ast.Node;
-import com.github.javaparser.resolution.types.ResolvedType;
 import de.upb.sse.jess.Jess;
 import de.upb.sse.jess.api.PublicApi;
 import de.upb.sse.jess.configuration.JessConfiguration;
 import de.upb.sse.jess.finder.PackageFinder;
 import de.upb.sse.jess.util.FileUtil;
+import de.upb.sse.jess.util.LargeStackExecutor;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
 /**
@@ -66,6 +72,38 @@ public class RepositoryProcessor {
     private final AtomicInteger excludedByMinLines = new AtomicInteger(0);
     private final AtomicInteger excludedByAnonymous = new AtomicInteger(0);
 
+    // Incremental re-processing: results of this run (with slice dependencies) and of a previous run
+    private final ResultsStore resultsStore = new ResultsStore();
+    private final AtomicInteger reusedMethods = new AtomicInteger(0);
+    private ResultsStore previousResults = null;
+    private Set<String> affectedMethods = Collections.emptySet();
+
+    // Checkpointing: optional append-only journal of finished methods, and whether to resume from it
+    private Path journalFile = null;
+    private boolean resume = false;
+    private ResultsJournal journal = null;
+
+    // Streaming output: results are written to the sinks as they complete; with retainResults=false
+    // ProcessingResult.methodResults and the results store stay empty, the store is read back from the journal
+    private final List<ResultsSink> resultsSinks = new ArrayList<>();
+    private boolean retainResults = true;
+
+    // Optional pool of forked worker JVMs; methods are then processed in parallel, one per worker
+    static final String FATAL_ERROR_NOTE = "Fatal error: ";
+    private WorkerPool.Settings workerPoolSettings = null;
+    private WorkerPool workerPool = null;
+
+    // Resolution-free descriptor computation against the repository type index
+    private final DescriptorBuilder descriptorBuilder = new DescriptorBuilder();
+    private final DependencyGraph dependencyGraph = new DependencyGraph(descriptorBuilder);
+
+    // Cost-aware dispatch order (longest expected first) and makespan bookkeeping
+    private final CostScheduler costScheduler = new CostScheduler();
+    private boolean costAwareScheduling = false;
+    private ResultsStore costHistory = null;
+    private final AtomicLong busyTimeMs = new AtomicLong(0);
+    private final AtomicLong longestMethodMs = new AtomicLong(0);
+
     /**
      * Create a RepositoryProcessor that processes ALL methods (no limit, with random selection).
      * Uses default minimum LOC threshold of 3 (actual threshold: 5 lines).
@@ -144,19 +182,55 @@ public class RepositoryProcessor {
         this.packages = packagesSet;
         this.jars = new HashSet<>(classpathJars);
 
-        // Create Jess configuration (same as experiment: stubbingConfig)
+        this.config = createJessConfiguration();
+
+        // Initialize status counters
+        for (PublicApi.Status status : PublicApi.Status.values()) {
+            statusCounts.put(status, new AtomicInteger(0));
+        }
+    }
+
+    /**
+     * Create the Jess configuration used for every method (same as experiment: stubbingConfig).
+     * Shared with the forked worker JVMs.
+     */
+    static JessConfiguration createJessConfiguration() {
         JessConfiguration jessConfig = new JessConfiguration();
         jessConfig.setExitOnCompilationFail(false);
         jessConfig.setExitOnParsingFail(false);
         jessConfig.setFailOnAmbiguity(false);
         jessConfig.setMinimalStubbing(false);
         jessConfig.setIncludeJdkStubs(false);
-        this.config = jessConfig;
-
-        // Initialize status counters
-        for (PublicApi.Status status : PublicApi.Status.values()) {
-            statusCounts.put(status, new AtomicInteger(0));
+        // Optional on-disk slice cache so unchanged methods are served from disk on re-runs
+        String sliceCacheDir = System.getProperty("jess.sliceCache");
+        if (sliceCacheDir != null && !sliceCacheDir.isEmpty()) {
+            jessConfig.setSliceCacheDir(Paths.get(sliceCacheDir));
+        }
+        // Stack of the resolution threads, e.g. "256m" for very deep hierarchies
+        String resolutionStack = System.getProperty("jess.resolutionStack");
+        if (resolutionStack != null && !resolutionStack.isEmpty()) {
+            jessConfig.setResolutionStackSize(LargeStackExecutor.parseSize(resolutionStack));
+        }
+        // Concurrent Spoon retry builds after duplicate-type conflicts
+        jessConfig.setSpeculativeModelBuilds(Boolean.getBoolean("jess.speculativeModelBuilds"));
+        String modelBuildBudget = System.getProperty("jess.modelBuildBudgetMs");
+        if (modelBuildBudget != null && !modelBuildBudget.isEmpty()) {
+            jessConfig.setModelBuildBudgetMs(Long.parseLong(modelBuildBudget));
+        }
+        // Context files with bodies, e.g. to compare against declarations-only context
+        String signatureOnlyContext = System.getProperty("jess.signatureOnlyContext");
+        if (signatureOnlyContext != null && !signatureOnlyContext.isEmpty()) {
+            jessConfig.setSignatureOnlyContext(Boolean.parseBoolean(signatureOnlyContext));
+        }
+        // Source-root context from compiled classes, e.g. -Djess.contextClasspath=target/classes
+        if ("classpath".equalsIgnoreCase(System.getProperty("jess.contextMode", ""))) {
+            jessConfig.setContextMode(JessConfiguration.ContextMode.CLASSPATH);
+            String contextClasspath = System.getProperty("jess.contextClasspath");
+            if (contextClasspath != null && !contextClasspath.isEmpty()) {
+                jessConfig.setContextClasspath(Paths.get(contextClasspath).toAbsolutePath());
+            }
         }
+        return jessConfig;
     }
 
     /**
@@ -174,7 +248,7 @@ public class RepositoryProcessor {
         System.out.println("Classpath Jars: " + classpathJars);
         System.out.println("Minimum LOC: " + minimumLoc + " (actual threshold: " + (minimumLoc + 2) + " lines)");
         if (selectionMode == SelectionMode.RANDOM) {
-            System.out.println("Selection Mode: RANDOM (seed=1234, same as experiment setup)");
+            System.out.println("Selection Mode: RANDOM (reservoir sampling, seed=1234)");
         } else {
             System.out.println("Selection Mode: SEQUENTIAL (first N methods in order)");
         }
@@ -194,49 +268,103 @@ public class RepositoryProcessor {
         System.out.println("Found " + relevantJavaFiles.size() + " relevant Java files (excluding test files)");
         System.out.println();
 
-        // STEP 2: Collect all methods from these files
+        // STEP 2 + 3: Collect all methods from these files (in parallel) and select methods based on selection mode
         // IMPORTANT: Experiment collects from ALL files, NO source root filtering during collection
         System.out.println("Collecting all methods from repository...");
-        List<MethodToProcess> allMethods = new ArrayList<>();
+        MethodSampler sampler = new MethodSampler(selectionMode, maxMethodsToProcess, random);
+        discoverMethods(relevantJavaFiles, sampler);
+        List<MethodToProcess> methodsToProcess = sampler.getSelected();
 
-        for (String javaFileStr : relevantJavaFiles) {
-            Path javaFile = Paths.get(javaFileStr);
-            try {
-                collectMethodsFromFile(javaFile, allMethods);
-            } catch (Exception e) {
-                System.err.println("Error collecting methods from file " + javaFile + ": " + e.getMessage());
-                // Continue processing other files
-            }
-        }
-
-        System.out.println("Collected " + allMethods.size() + " methods (after filtering)");
+        System.out.println("Collected " + sampler.getSeen() + " methods (after filtering)");
         System.out.println();
 
-        // STEP 3: Select methods based on selection mode
-        List<MethodToProcess> methodsToProcess = selectMethods(allMethods);
-
         String selectionDesc = selectionMode == SelectionMode.RANDOM 
-            ? "random selection with seed 1234" 
+            ? "reservoir sampling with seed 1234"
             : "sequential selection (first N methods)";
         System.out.println("Selected " + methodsToProcess.size() + " methods to process (" + selectionDesc + ")");
         System.out.println();
 
+        // Dispatch longest-expected-first so that large classes do not end up in the tail of a parallel run
+        if (isCostAwareScheduling()) {
+            costScheduler.setHistory(costHistory != null ? costHistory : previousResults);
+            methodsToProcess = costScheduler.longestFirst(methodsToProcess);
+            System.out.println("Cost-aware scheduling: dispatching longest-expected-first");
+        }
+
         // STEP 4: Process selected methods (source roots are used here for compilation)
+        long processingStart = System.nanoTime();
+        ResultsStore journaled = openJournal();
+        ExecutorService dispatcher = null;
+        if (workerPoolSettings != null) {
+            workerPool = new WorkerPool(workerPoolSettings, packages, jars);
+            dispatcher = Executors.newFixedThreadPool(workerPoolSettings.workers);
+            System.out.println("Using " + workerPoolSettings.workers + " worker JVMs " + workerPoolSettings.jvmArgs()
+                    + ", recycled after " + workerPoolSettings.methodsPerWorker + " methods");
+        }
+        List<Future<?>> pending = new ArrayList<>();
         for (MethodToProcess method : methodsToProcess) {
             try {
-                processMethod(method);
+                String key = ResultsStore.key(method.binaryClassName, method.methodName, method.jvmDescriptor);
+                ResultsStore.Record done = journaled.get(key);
+                if (done != null) {
+                    // Already finished before the run was interrupted
+                    reuseResult(done, false);
+                    continue;
+                }
+                if (previousResults != null) {
+                    ResultsStore.Record previous = previousResults.get(key);
+                    if (previous != null && !affectedMethods.contains(key)) {
+                        reuseResult(previous, true);
+                        continue;
+                    }
+                }
+                if (dispatcher != null) {
+                    pending.add(dispatcher.submit(() -> processMethod(method)));
+                } else {
+                    processMethod(method);
+                }
             } catch (Exception e) {
                 System.err.println("Error processing method " + method.binaryClassName + "." + method.methodName + ": " + e.getMessage());
                 e.printStackTrace();
             }
         }
 
+        for (Future<?> f : pending) {
+            try {
+                f.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (ExecutionException e) {
+                System.err.println("Error processing method: " + e.getCause());
+            }
+        }
+        if (dispatcher != null) {
+            dispatcher.shutdownNow();
+            workerPool.close();
+            workerPool = null;
+        }
+        closeJournal();
+        long makespanMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - processingStart);
+
         // Task 4: Print summary statistics for repo run
         System.out.println();
         System.out.println("==================================================================================");
         System.out.println("REPOSITORY PROCESSING SUMMARY");
         System.out.println("==================================================================================");
         System.out.println(de.upb.sse.jess.stubbing.SpoonStubbingRunner.getSummaryStats());
+        int parallelism = workerPoolSettings != null ? workerPoolSettings.workers : 1;
+        long idealMs = CostScheduler.idealMakespanMs(busyTimeMs.get(), longestMethodMs.get(), parallelism);
+        System.out.println(String.format("Makespan: %d ms | Ideal (%d worker%s): %d ms | Efficiency: %.1f%%",
+                makespanMs, parallelism, parallelism == 1 ? "" : "s", idealMs,
+                makespanMs > 0 ? (double) idealMs / makespanMs * 100.0 : 100.0));
+        if (!journaled.getRecords().isEmpty()) {
+            System.out.println("Resumed: " + journaled.size() + " methods taken from journal " + journalFile);
+        }
+        if (previousResults != null) {
+            System.out.println("Incremental: reused " + reusedMethods.get() + " stored results, reprocessed "
+                    + (totalMethods.get() - reusedMethods.get()) + " methods");
+        }
         System.out.println("==================================================================================");
         System.out.println();
         
@@ -244,25 +372,81 @@ public class RepositoryProcessor {
         return generateResult();
     }
 
+    /**
+     * Process the repository incrementally: only methods whose slice depends on one of the changed files
+     * (or that were not part of the previous run) are processed, all other results are reused.
+     *
+     * @param previous results store of a previous run (see {@link #getResultsStore()})
+     * @param changedFiles changed Java files, absolute or relative to the project directory
+     * @return ProcessingResult containing statistics and results of all selected methods
+     */
+    public ProcessingResult processRepositoryIncrementally(ResultsStore previous, Collection<Path> changedFiles) {
+        Set<Path> resolved = new LinkedHashSet<>();
+        for (Path p : changedFiles) {
+            resolved.add(p.isAbsolute() ? p : projectPath.resolve(p));
+        }
+
+        this.previousResults = previous;
+        this.affectedMethods = previous.affectedBy(resolved);
+        System.out.println("Incremental mode: " + resolved.size() + " changed files affect "
+                + affectedMethods.size() + " of " + previous.size() + " stored methods");
+        try {
+            return processRepository();
+        } finally {
+            this.previousResults = null;
+            this.affectedMethods = Collections.emptySet();
+        }
+    }
+
+    /**
+     * Process the repository incrementally, computing the changed files from two directory snapshots
+     * (e.g., the checkouts of two commits). Paths in the snapshots are relative to the project directory.
+     */
+    public ProcessingResult processRepositoryIncrementally(ResultsStore previous, Path oldSnapshot, Path newSnapshot) throws IOException {
+        return processRepositoryIncrementally(previous, ResultsStore.diffSnapshots(oldSnapshot, newSnapshot));
+    }
+
+    /**
+     * Results of the current run together with the slice dependencies of every method.
+     * Can be saved and passed to {@link #processRepositoryIncrementally} on the next run.
+     *
+     * If results are not retained in memory, the store is read back from the journal; without a journal,
+     * use {@link ResultsStore#fromSink} on the file of a results sink instead.
+     *
+     * @throws IllegalStateException if results are neither retained nor journaled
+     */
+    public ResultsStore getResultsStore() throws IOException {
+        if (retainResults) return resultsStore;
+        if (journalFile != null) return ResultsJournal.load(journalFile);
+        throw new IllegalStateException("Results are not retained in memory and no journal is set; "
+                + "read them back from a results sink with ResultsStore.fromSink");
+    }
+
     /**
      * Internal class to hold method information before processing.
      * Matches experiment's ClassMethodPair structure.
      */
-    private static class MethodToProcess {
+    static class MethodToProcess {
         final Path javaFile;
         final String binaryClassName;
         final String methodName;
         final String jvmDescriptor;
         final String methodSignature;  // Full signature like "methodName(int, String)" - needed for preSlice()
         final boolean isClinit;  // Whether this is a static initializer
+        final int lines;  // Length of the declaration in lines (input of the cost model, 0 if unknown)
 
         MethodToProcess(Path javaFile, String binaryClassName, String methodName, String jvmDescriptor, String methodSignature, boolean isClinit) {
+            this(javaFile, binaryClassName, methodName, jvmDescriptor, methodSignature, isClinit, 0);
+        }
+
+        MethodToProcess(Path javaFile, String binaryClassName, String methodName, String jvmDescriptor, String methodSignature, boolean isClinit, int lines) {
             this.javaFile = javaFile;
             this.binaryClassName = binaryClassName;
             this.methodName = methodName;
             this.jvmDescriptor = jvmDescriptor;
             this.methodSignature = methodSignature;
             this.isClinit = isClinit;
+            this.lines = lines;
         }
 
         @Override
@@ -303,11 +487,17 @@ public class RepositoryProcessor {
                 .map(p -> p.getNameAsString())
                 .orElse("");
 
+        DescriptorBuilder.FileContext descriptorContext = descriptorBuilder.newContext(cu);
+        if (isCostAwareScheduling()) {
+            costScheduler.addFile(javaFile, cu);
+            dependencyGraph.addFile(cu, descriptorContext);
+        }
+
         // Find all classes and interfaces
         List<TypeDeclaration<?>> types = cu.getTypes();
         for (TypeDeclaration<?> type : types) {
             String binaryClassName = getBinaryClassName(packageName, type);
-            collectMethodsFromType(javaFile, binaryClassName, type, allMethods);
+            collectMethodsFromType(javaFile, binaryClassName, type, descriptorContext, allMethods);
         }
     }
 
@@ -315,7 +505,8 @@ public class RepositoryProcessor {
      * Collect methods from a type (class/interface).
      * Same logic as experiment's JPUtils.getClassMethodPairs().
      */
-    private void collectMethodsFromType(Path javaFile, String binaryClassName, TypeDeclaration<?> type, List<MethodToProcess> allMethods) {
+    private void collectMethodsFromType(Path javaFile, String binaryClassName, TypeDeclaration<?> type,
+                                        DescriptorBuilder.FileContext descriptorContext, List<MethodToProcess> allMethods) {
         if (!(type instanceof ClassOrInterfaceDeclaration)) {
             return;
         }
@@ -375,10 +566,11 @@ public class RepositoryProcessor {
             // Get JVM descriptor
             String jvmDescriptor = null;
             if (callable instanceof MethodDeclaration) {
-                jvmDescriptor = getJvmDescriptor((MethodDeclaration) callable);
+                jvmDescriptor = descriptorBuilder.methodDescriptor((MethodDeclaration) callable, descriptorContext);
             } else if (callable instanceof com.github.javaparser.ast.body.ConstructorDeclaration) {
-                // For constructors, use the signature as-is (experiment handles constructors)
-                jvmDescriptor = "<init>";  // Constructor descriptor
+                // <init>(...)V, overloaded constructors need distinct keys in the results store and journal
+                jvmDescriptor = descriptorBuilder.constructorDescriptor(
+                        (com.github.javaparser.ast.body.ConstructorDeclaration) callable, descriptorContext);
             } else if (isClinit) {
                 jvmDescriptor = "<clinit>";  // Static initializer descriptor
             } else {
@@ -391,50 +583,91 @@ public class RepositoryProcessor {
             }
 
             // Add to collection (will be randomly selected later)
-            allMethods.add(new MethodToProcess(javaFile, binaryClassName, methodName, jvmDescriptor, methodSignature, isClinit));
+            allMethods.add(new MethodToProcess(javaFile, binaryClassName, methodName, jvmDescriptor, methodSignature, isClinit, lineCount));
         }
 
         // Process nested types recursively
             for (TypeDeclaration<?> nestedType : type.getChildNodesByType(TypeDeclaration.class)) {
                 if (nestedType != type) {
                     String nestedBinaryClassName = binaryClassName + "$" + nestedType.getNameAsString();
-                collectMethodsFromType(javaFile, nestedBinaryClassName, nestedType, allMethods);
+                collectMethodsFromType(javaFile, nestedBinaryClassName, nestedType, descriptorContext, allMethods);
             }
         }
     }
 
     /**
-     * Select methods to process based on selection mode.
-     * RANDOM: Randomly select methods (same logic as experiment's getRandomClassMethodPairs).
-     * SEQUENTIAL: Select first N methods in order.
+     * Parse all files in parallel and offer their methods to the sampler in file order, so that the
+     * selection does not depend on the parallel execution order.
      */
-    private List<MethodToProcess> selectMethods(List<MethodToProcess> allMethods) {
-        if (maxMethodsToProcess <= 0 || allMethods.size() <= maxMethodsToProcess) {
-            // Process all methods (no limit or not enough methods)
-            return new ArrayList<>(allMethods);
+    private void discoverMethods(List<String> relevantJavaFiles, MethodSampler sampler) {
+        ForkJoinPool discoveryPool = new ForkJoinPool(Math.max(1, Runtime.getRuntime().availableProcessors()));
+        try {
+            // Index the repository's top-level types first, descriptors are computed against it
+            discoveryPool.submit(() -> relevantJavaFiles.parallelStream()
+                    .forEach(f -> descriptorBuilder.addFile(Paths.get(f)))
+            ).get();
+            discoveryPool.submit(() -> relevantJavaFiles.parallelStream()
+                    .map(javaFileStr -> {
+                        Path javaFile = Paths.get(javaFileStr);
+                        List<MethodToProcess> fileMethods = new ArrayList<>();
+                        try {
+                            collectMethodsFromFile(javaFile, fileMethods);
+                        } catch (Exception e) {
+                            System.err.println("Error collecting methods from file " + javaFile + ": " + e.getMessage());
+                            // Continue processing other files
+                        }
+                        return fileMethods;
+                    })
+                    .forEachOrdered(fileMethods -> fileMethods.forEach(sampler::offer))
+            ).get();
+            if (isCostAwareScheduling()) {
+                dependencyGraph.freeze();
+                costScheduler.setDependencyGraph(dependencyGraph);
+                System.out.println("[RepositoryProcessor] Dependency graph: " + dependencyGraph.size() + " types and members");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("Error collecting methods: " + e.getCause());
+        } finally {
+            discoveryPool.shutdown();
         }
+    }
 
-        if (selectionMode == SelectionMode.SEQUENTIAL) {
-            // Sequential selection: return first N methods
-            return new ArrayList<>(allMethods.subList(0, Math.min(maxMethodsToProcess, allMethods.size())));
-        } else {
-            // Random selection (same as experiment)
-            List<MethodToProcess> randomMethods = new ArrayList<>();
-            int collisions = 0;
-            for (int i = 0; i < maxMethodsToProcess; i++) {
-                int randomIdx = random.nextInt(allMethods.size());
-                MethodToProcess randomMethod = allMethods.get(randomIdx);
-                if (randomMethods.contains(randomMethod)) {
-                    i--;  // Try again if duplicate
-                    collisions++;
-                    if (collisions > maxMethodsToProcess) {
-                        break;  // Avoid infinite loop
-                    }
-                    continue;
-                }
-                randomMethods.add(randomMethod);
+    /**
+     * Selects methods while they are discovered, keeping at most maxMethodsToProcess of them in memory.
+     * RANDOM: seeded reservoir sampling (Algorithm R), reproducible for the same seed and file order.
+     * SEQUENTIAL: first N methods in order.
+     */
+    static class MethodSampler {
+        private final SelectionMode mode;
+        private final int limit;
+        private final Random random;
+        private final List<MethodToProcess> selected = new ArrayList<>();
+        private int seen = 0;
+
+        MethodSampler(SelectionMode mode, int limit, Random random) {
+            this.mode = mode;
+            this.limit = limit;
+            this.random = random;
+        }
+
+        void offer(MethodToProcess method) {
+            seen++;
+            if (limit <= 0 || selected.size() < limit) {
+                selected.add(method);
+            } else if (mode == SelectionMode.RANDOM) {
+                int j = random.nextInt(seen);
+                if (j < limit) selected.set(j, method);
             }
-            return randomMethods;
+        }
+
+        List<MethodToProcess> getSelected() {
+            return selected;
+        }
+
+        int getSeen() {
+            return seen;
         }
     }
 
@@ -519,10 +752,62 @@ public class RepositoryProcessor {
     /**
      * Process a single method using the EXACT same flow as experiment setup (RandomJessHandler.compile).
      * Uses jess.preSlice() and jess.parse() instead of compileSingleMethod().
+     * Runs in a forked worker JVM if a worker pool is enabled, otherwise in this JVM.
      */
     private void processMethod(MethodToProcess methodToProcess) {
         totalMethods.incrementAndGet();
 
+        String binaryClassName = methodToProcess.binaryClassName;
+        String methodName = methodToProcess.methodName;
+
+        long start = System.nanoTime();
+        ResultsStore.Record outcome = workerPool != null
+                ? workerPool.compile(methodToProcess)
+                : compileMethod(methodToProcess, config, packages, jars);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        busyTimeMs.addAndGet(elapsedMs);
+        longestMethodMs.accumulateAndGet(elapsedMs, Math::max);
+        recordResult(outcome.methodResult, outcome.dependencies);
+
+        // Log progress and statistics for each method
+        String limitInfo = maxMethodsToProcess > 0 ? " / " + maxMethodsToProcess : "";
+        int current = totalMethods.get();
+        int compiled = methodsCompiledSuccessfully.get();
+        int withBytecode = methodsWithAccessibleBytecode.get();
+        int failed = failedCompilations.get();
+
+        // Log every method (or every 10th for less verbose output)
+        boolean logThisMethod = (current % 10 == 0) || (current <= 10);
+
+        if (logThisMethod) {
+            double successRate = current > 0 ? (double) compiled / current * 100.0 : 0.0;
+            double bytecodeRate = current > 0 ? (double) withBytecode / current * 100.0 : 0.0;
+
+            System.out.println(String.format(
+                "[JESS] Method %d%s | Compiled: %d (%.1f%%) | Bytecode: %d (%.1f%%) | Failed: %d | %s.%s",
+                current, limitInfo, compiled, successRate, withBytecode, bytecodeRate, failed,
+                binaryClassName, methodName
+            ));
+        }
+
+        // Check if we've reached the limit
+        if (maxMethodsToProcess > 0 && current >= maxMethodsToProcess) {
+            System.out.println("\n[JESS] Reached method limit of " + maxMethodsToProcess + ". Stopping processing.");
+            System.out.println("[JESS] Final Statistics:");
+            System.out.println(String.format(
+                "  Total: %d | Compiled: %d (%.1f%%) | With Bytecode: %d (%.1f%%) | Failed: %d",
+                current, compiled, (double) compiled / current * 100.0,
+                withBytecode, (double) withBytecode / current * 100.0, failed
+            ));
+        }
+    }
+
+    /**
+     * Compile a single method with a fresh Jess instance and return its result together with
+     * the source files the slice depended on. Does not touch any statistics.
+     */
+    static ResultsStore.Record compileMethod(MethodToProcess methodToProcess, JessConfiguration config,
+                                             Set<String> packages, Set<String> jars) {
         String targetClass = methodToProcess.javaFile.toString();  // Full file path (same as experiment)
         String methodSignature = methodToProcess.methodSignature;
         boolean isClinit = methodToProcess.isClinit;
@@ -551,6 +836,7 @@ public class RepositoryProcessor {
             // CRITICAL: Catch StackOverflowError from JavaParser symbol resolution
             // This happens when there are circular type dependencies in complex projects
             int jessResult;
+            Throwable fatalError = null;
             try {
                 jessResult = jess.parse(targetClass);
             } catch (StackOverflowError e) {
@@ -558,9 +844,11 @@ public class RepositoryProcessor {
                 // This is a known limitation of JavaParser, not a bug in our code
                 System.err.println("[RepositoryProcessor] StackOverflowError during symbol resolution for " + 
                     methodSignature + " - likely due to circular type dependencies in JavaParser");
-                System.err.println("[RepositoryProcessor] Suggestion: Increase JVM stack size with -Xss4m or -Xss8m");
+                System.err.println("[RepositoryProcessor] Suggestion: Increase the resolution stack with -Djess.resolutionStack=256m");
                 jessResult = 2; // INTERNAL_ERROR
+                fatalError = e;
             }
+            if (fatalError == null) fatalError = jess.getLastFatalError();
             long endTime = System.nanoTime();
             long compilationTime = TimeUnit.NANOSECONDS.toMillis(endTime - startTime);
             boolean jessSuccess = jessResult == 0;
@@ -579,7 +867,9 @@ public class RepositoryProcessor {
                     notes = "Compilation failed (exit code 1)";
                 } else {
                     status = PublicApi.Status.INTERNAL_ERROR;
-                    notes = "Internal error (exit code " + jessResult + ")";
+                    notes = fatalError != null
+                            ? FATAL_ERROR_NOTE + fatalError.getClass().getSimpleName()
+                            : "Internal error (exit code " + jessResult + ")";
                 }
             }
 
@@ -596,6 +886,52 @@ public class RepositoryProcessor {
                 notes
         );
 
+            return new ResultsStore.Record(new MethodResult(
+                    binaryClassName,
+                    methodName,
+                    jvmDescriptor,
+                    targetClass,
+                    result
+            ), jess.getSliceDependencies());
+
+        } catch (Throwable e) {
+            // Same error handling as experiment setup
+            e.printStackTrace();
+
+            PublicApi.Result result = new PublicApi.Result(
+                PublicApi.Status.INTERNAL_ERROR,
+                null,
+                binaryClassName,
+                Collections.emptyList(),
+                null,
+                false,
+                false,
+                "provided",
+                0,
+                (e instanceof VirtualMachineError ? FATAL_ERROR_NOTE : "Exception: ") + e.getClass().getSimpleName() + ": " + e.getMessage()
+            );
+
+            return new ResultsStore.Record(new MethodResult(
+                    binaryClassName,
+                    methodName,
+                    jvmDescriptor,
+                    targetClass,
+                    result
+            ), Collections.emptySet());
+        }
+    }
+
+    /**
+     * Update statistics for a finished method and store its result together with the
+     * source files its slice depended on.
+     */
+    private void recordResult(MethodResult methodResult, Collection<Path> dependencies) {
+        recordResult(methodResult, dependencies, true);
+    }
+
+    private synchronized void recordResult(MethodResult methodResult, Collection<Path> dependencies, boolean writeJournal) {
+        PublicApi.Result result = methodResult.result;
+
         // Update statistics
         statusCounts.get(result.status).incrementAndGet();
 
@@ -628,76 +964,122 @@ public class RepositoryProcessor {
         }
 
         // Store result
-        methodResults.add(new MethodResult(
-                binaryClassName,
-                methodName,
-                jvmDescriptor,
-                    targetClass,
-                    result
-            ));
+        if (retainResults) {
+            methodResults.add(methodResult);
+            resultsStore.put(methodResult, dependencies);
+        }
+        for (ResultsSink sink : resultsSinks) {
+            try {
+                sink.write(methodResult, dependencies);
+            } catch (IOException e) {
+                System.err.println("[RepositoryProcessor] Failed to write result to " + sink.getClass().getSimpleName() + ": " + e.getMessage());
+            }
+        }
 
-        } catch (Throwable e) {
-            // Same error handling as experiment setup
-            e.printStackTrace();
+        if (writeJournal && journal != null) {
+            try {
+                journal.write(methodResult, dependencies);
+            } catch (IOException e) {
+                System.err.println("[RepositoryProcessor] Failed to write journal " + journalFile + ": " + e.getMessage());
+            }
+        }
+    }
 
-            PublicApi.Result result = new PublicApi.Result(
-                PublicApi.Status.INTERNAL_ERROR,
-                null,
-                binaryClassName,
-                Collections.emptyList(),
-                null,
-                false,
-                false,
-                "provided",
-                0,
-                "Exception: " + e.getClass().getSimpleName() + ": " + e.getMessage()
-            );
+    /**
+     * Reuse a stored result instead of processing the method again (incremental mode or resume).
+     */
+    private void reuseResult(ResultsStore.Record record, boolean writeJournal) {
+        totalMethods.incrementAndGet();
+        reusedMethods.incrementAndGet();
+        recordResult(record.methodResult, record.dependencies, writeJournal);
+    }
 
-            // Update statistics
-            statusCounts.get(result.status).incrementAndGet();
-            failedCompilations.incrementAndGet();
+    /**
+     * Open the journal (if configured) and return the methods already finished in it when resuming.
+     */
+    private ResultsStore openJournal() {
+        if (journalFile == null) return new ResultsStore();
+        ResultsStore journaled = new ResultsStore();
+        try {
+            if (resume) {
+                journaled = ResultsJournal.load(journalFile);
+            } else {
+                Files.deleteIfExists(journalFile);
+            }
+            journal = new ResultsJournal(journalFile);
+        } catch (IOException e) {
+            System.err.println("[RepositoryProcessor] Failed to open journal " + journalFile + ": " + e.getMessage());
+        }
+        return journaled;
+    }
 
-            // Store result
-            methodResults.add(new MethodResult(
-                    binaryClassName,
-                    methodName,
-                    jvmDescriptor,
-                    targetClass,
-                result
-        ));
+    private void closeJournal() {
+        if (journal == null) return;
+        try {
+            journal.close();
+        } catch (IOException e) {
+            System.err.println("[RepositoryProcessor] Failed to close journal " + journalFile + ": " + e.getMessage());
         }
+        journal = null;
+    }
 
-        // Log progress and statistics for each method
-        String limitInfo = maxMethodsToProcess > 0 ? " / " + maxMethodsToProcess : "";
-        int current = totalMethods.get();
-        int compiled = methodsCompiledSuccessfully.get();
-        int withBytecode = methodsWithAccessibleBytecode.get();
-        int failed = failedCompilations.get();
+    /**
+     * Write every finished method to an append-only journal so that long runs survive crashes.
+     *
+     * @param journalFile journal file, or null to disable journaling
+     * @param resume if true, methods already present in the journal are not processed again
+     */
+    public void setJournal(Path journalFile, boolean resume) {
+        this.journalFile = journalFile;
+        this.resume = resume;
+    }
 
-        // Log every method (or every 10th for less verbose output)
-        boolean logThisMethod = (current % 10 == 0) || (current <= 10);
+    /**
+     * Process methods in a pool of long-lived forked worker JVMs instead of this JVM. Each worker handles many
+     * methods and is replaced after {@code methodsPerWorker} methods or after a fatal error (StackOverflowError,
+     * OutOfMemoryError), so a single pathological method cannot degrade the rest of the run.
+     *
+     * @param workers number of worker JVMs (methods are processed in parallel, one per worker)
+     * @param xss thread stack size of the workers (e.g. "8m"), or null for the JVM default
+     * @param xmx maximum heap size of the workers (e.g. "2g"), or null for the JVM default
+     * @param methodsPerWorker number of methods after which a worker is recycled
+     * @param timeoutMs per-method timeout after which the worker is killed (TIMEOUT status), 0 for none
+     */
+    public void enableWorkerPool(int workers, String xss, String xmx, int methodsPerWorker, long timeoutMs) {
+        this.workerPoolSettings = new WorkerPool.Settings(workers, xss, xmx, methodsPerWorker, timeoutMs,
+                Paths.get("jess-workers").toAbsolutePath());
+    }
 
-        if (logThisMethod) {
-            double successRate = current > 0 ? (double) compiled / current * 100.0 : 0.0;
-            double bytecodeRate = current > 0 ? (double) withBytecode / current * 100.0 : 0.0;
+    /**
+     * Dispatch methods longest-expected-first based on a cost model (file size, imports, dependency fan-out,
+     * method length) and historic timings. Always enabled when a worker pool is used.
+     *
+     * @param history results of a previous run used for historic timings, or null
+     */
+    public void setCostAwareScheduling(boolean enabled, ResultsStore history) {
+        this.costAwareScheduling = enabled;
+        this.costHistory = history;
+    }
 
-            System.out.println(String.format(
-                "[JESS] Method %d%s | Compiled: %d (%.1f%%) | Bytecode: %d (%.1f%%) | Failed: %d | %s.%s",
-                current, limitInfo, compiled, successRate, withBytecode, bytecodeRate, failed,
-                binaryClassName, methodName
-            ));
-        }
+    // File statistics and the dependency graph only feed the cost model, so they are collected only when it is used
+    private boolean isCostAwareScheduling() {
+        return costAwareScheduling || workerPoolSettings != null;
+    }
 
-        // Check if we've reached the limit
-        if (maxMethodsToProcess > 0 && current >= maxMethodsToProcess) {
-            System.out.println("\n[JESS] Reached method limit of " + maxMethodsToProcess + ". Stopping processing.");
-            System.out.println("[JESS] Final Statistics:");
-            System.out.println(String.format(
-                "  Total: %d | Compiled: %d (%.1f%%) | With Bytecode: %d (%.1f%%) | Failed: %d",
-                current, compiled, (double) compiled / current * 100.0,
-                withBytecode, (double) withBytecode / current * 100.0, failed
-            ));
-        }
+    /**
+     * Stream every finished method result to the given sink. The sink is owned (and closed) by the caller.
+     */
+    public void addResultsSink(ResultsSink sink) {
+        resultsSinks.add(sink);
+    }
+
+    /**
+     * Whether method results are kept in memory (ProcessingResult.methodResults and the results store).
+     * Disable for very large repositories when results are streamed to a {@link ResultsSink} instead; only
+     * aggregate counters stay in memory then, and {@link #getResultsStore()} reads the journal.
+     */
+    public void setRetainResults(boolean retainResults) {
+        this.retainResults = retainResults;
     }
 
     /**
@@ -809,121 +1191,6 @@ public class RepositoryProcessor {
         return packageName.replace(".", "/") + "/" + className;
     }
     
-    private String getJvmDescriptor(MethodDeclaration method) {
-        try {
-            StringBuilder descriptor = new StringBuilder();
-            descriptor.append("(");
-            
-            // Parameters - try to resolve types using JavaParser
-            for (com.github.javaparser.ast.body.Parameter param : method.getParameters()) {
-                String typeDesc = null;
-                try {
-                    // Try to resolve the type using JavaParser's symbol solver
-                    ResolvedType resolvedType = param.getType().resolve();
-                    typeDesc = getTypeDescriptorFromResolved(resolvedType);
-                } catch (Exception e) {
-                    // Fallback to string-based conversion
-                    typeDesc = getTypeDescriptor(param.getType().asString());
-                }
-                descriptor.append(typeDesc);
-            }
-            
-            descriptor.append(")");
-            
-            // Return type - try to resolve using JavaParser
-            String returnTypeDesc = null;
-            try {
-                ResolvedType resolvedReturnType = method.getType().resolve();
-                returnTypeDesc = getTypeDescriptorFromResolved(resolvedReturnType);
-            } catch (Exception e) {
-                // Fallback to string-based conversion
-                returnTypeDesc = getTypeDescriptor(method.getType().asString());
-            }
-            descriptor.append(returnTypeDesc);
-            
-            return descriptor.toString();
-        } catch (Exception e) {
-            return null;
-        }
-    }
-    
-    private String getTypeDescriptorFromResolved(ResolvedType resolvedType) {
-        if (resolvedType.isPrimitive()) {
-            return getTypeDescriptor(resolvedType.asPrimitive().name());
-        } else if (resolvedType.isVoid()) {
-            return "V";
-        } else if (resolvedType.isArray()) {
-            ResolvedType componentType = resolvedType.asArrayType().getComponentType();
-            return "[" + getTypeDescriptorFromResolved(componentType);
-        } else {
-            // For reference types, get the qualified name and convert
-            String qualifiedName = resolvedType.asReferenceType().getQualifiedName();
-            return "L" + qualifiedName.replace(".", "/") + ";";
-        }
-    }
-    
-    private String getTypeDescriptor(String typeName) {
-        return getTypeDescriptor(typeName, new HashSet<>());
-    }
-    
-    private String getTypeDescriptor(String typeName, Set<String> visited) {
-        // Prevent infinite recursion
-        if (visited.contains(typeName)) {
-            // Fallback: return Object descriptor to avoid infinite loop
-            return "Ljava/lang/Object;";
-        }
-        visited.add(typeName);
-        
-        try {
-            // Simple type mapping - this is a basic implementation
-            // For a complete solution, you'd want to use JavaParser's type resolution
-            switch (typeName) {
-                case "void": return "V";
-                case "boolean": return "Z";
-                case "byte": return "B";
-                case "char": return "C";
-                case "short": return "S";
-                case "int": return "I";
-                case "long": return "J";
-                case "float": return "F";
-                case "double": return "D";
-                default:
-                    // For object types, convert package.Class to Lpackage/Class;
-                    // Handle arrays - only strip trailing [] (not [] inside generics)
-                    if (typeName.endsWith("[]")) {
-                        int arrayCount = 0;
-                        String baseType = typeName;
-                        // Only strip trailing [] pairs, not [] inside generics like List<byte[]>
-                        while (baseType.endsWith("[]")) {
-                            arrayCount++;
-                            baseType = baseType.substring(0, baseType.length() - 2).trim();
-                            // Safety check: if we've stripped too much, break
-                            if (baseType.isEmpty()) {
-                                baseType = "java.lang.Object";
-                                break;
-                            }
-                        }
-                        String baseDesc = getTypeDescriptor(baseType, visited);
-                        StringBuilder desc = new StringBuilder();
-                        for (int i = 0; i < arrayCount; i++) {
-                            desc.append("[");
-                        }
-                        desc.append(baseDesc);
-                        return desc.toString();
-                    } else {
-                        // Remove generic type parameters for JVM descriptor (e.g., List<String> -> List)
-                        int genericStart = typeName.indexOf('<');
-                        if (genericStart > 0) {
-                            typeName = typeName.substring(0, genericStart);
-                        }
-                        return "L" + typeName.replace(".", "/") + ";";
-                    }
-            }
-        } finally {
-            visited.remove(typeName);
-        }
-    }
-    
     private ProcessingResult generateResult() {
         // Print filtering statistics
         int totalFound = methodsFound.get();
@@ -1015,6 +1282,57 @@ public class RepositoryProcessor {
             this.excludedByAnonymous = excludedByAnonymous;
         }
         
+        /**
+         * Reconstruct a ProcessingResult from the method results streamed to a {@link ResultsSink}.
+         * Method discovery statistics (methods found, exclusions, limit) are not part of the sink and
+         * have to be passed in, e.g. from the aggregate-only result returned by the run.
+         */
+        public static ProcessingResult fromMethodResults(List<MethodResult> methodResults,
+                                                         int methodsFound,
+                                                         int maxMethodsToProcess,
+                                                         int excludedByNoRange,
+                                                         int excludedByMinLines,
+                                                         int excludedByAnonymous) {
+            Map<PublicApi.Status, Integer> statusCounts = new HashMap<>();
+            for (PublicApi.Status status : PublicApi.Status.values()) statusCounts.put(status, 0);
+            Map<String, Integer> notEmittedReasons = new HashMap<>();
+            int compiled = 0;
+            int withBytecode = 0;
+            int failed = 0;
+
+            for (MethodResult mr : methodResults) {
+                PublicApi.Result result = mr.result;
+                statusCounts.merge(result.status, 1, Integer::sum);
+                if (result.status == PublicApi.Status.TARGET_METHOD_NOT_EMITTED) {
+                    String reason = result.notes != null && !result.notes.isEmpty()
+                            ? result.notes.split("\\|")[0].trim()
+                            : "unknown reason";
+                    notEmittedReasons.merge(reason, 1, Integer::sum);
+                }
+                if (result.status == PublicApi.Status.OK || result.status == PublicApi.Status.TARGET_METHOD_NOT_EMITTED) {
+                    compiled++;
+                    if (result.status == PublicApi.Status.OK && result.targetHasCode) withBytecode++;
+                } else {
+                    failed++;
+                }
+            }
+
+            return new ProcessingResult(methodResults.size(), methodsFound, maxMethodsToProcess,
+                    compiled, withBytecode, compiled, failed, statusCounts, notEmittedReasons,
+                    new ArrayList<>(methodResults), excludedByNoRange, excludedByMinLines, excludedByAnonymous);
+        }
+
+        /**
+         * Reconstruct a ProcessingResult from a sink file, taking the discovery statistics from
+         * the aggregate result of the run that produced it.
+         */
+        public static ProcessingResult fromSink(Path file, ResultsSink.Format format, ProcessingResult aggregates) throws IOException {
+            List<MethodResult> results = new ArrayList<>();
+            format.read(file, r -> results.add(r.methodResult));
+            return fromMethodResults(results, aggregates.methodsFound, aggregates.maxMethodsToProcess,
+                    aggregates.excludedByNoRange, aggregates.excludedByMinLines, aggregates.excludedByAnonymous);
+        }
+
         /**
          * Success rate: percentage of methods that compiled successfully (status == OK)
          */
@@ -0,0 +1,77 @@
+package de.upb.sse.jess.tool;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+
+/**
+ * Append-only journal of per-method results, written as soon as each method completes.
+ *
+ * Every record is flushed and forced to disk before the next method starts, so a run that dies
+ * (OOM, StackOverflowError, machine restart) loses at most the method that was in flight. The journal
+ * uses the {@link ResultsStore} record format and can be loaded with {@link #load(Path)} to resume.
+ */
+public class ResultsJournal implements ResultsSink {
+    private final FileOutputStream out;
+    private final Writer writer;
+
+    public ResultsJournal(Path file) throws IOException {
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        boolean exists = Files.isRegularFile(file) && Files.size(file) > 0;
+        if (exists) dropIncompleteRecord(file);
+
+        this.out = new FileOutputStream(file.toFile(), true);
+        this.writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        if (!exists) {
+            writer.write(ResultsStore.HEADER);
+            writer.write('\n');
+            sync();
+        }
+    }
+
+    /**
+     * Appends a single method result and forces it to disk.
+     */
+    @Override
+    public synchronized void write(RepositoryProcessor.MethodResult methodResult, Collection<Path> dependencies) throws IOException {
+        writer.write(ResultsStore.toLine(new ResultsStore.Record(methodResult, dependencies)));
+        writer.write('\n');
+        sync();
+    }
+
+    /**
+     * Loads all complete records of a journal; a record that was only partially written is ignored.
+     */
+    public static ResultsStore load(Path file) throws IOException {
+        if (Files.isRegularFile(file)) dropIncompleteRecord(file);
+        return ResultsStore.load(file);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        writer.close();
+    }
+
+    private void sync() throws IOException {
+        writer.flush();
+        out.getChannel().force(false);
+    }
+
+    // A crash while writing leaves a last line without newline terminator, cut it off before appending
+    private static void dropIncompleteRecord(Path file) throws IOException {
+        byte[] content = Files.readAllBytes(file);
+        int end = content.length;
+        while (end > 0 && content[end - 1] != '\n') end--;
+        if (end == content.length) return;
+
+        System.err.println("[ResultsJournal] Dropping incomplete record at end of " + file);
+        try (FileOutputStream truncate = new FileOutputStream(file.toFile(), true)) {
+            truncate.getChannel().truncate(end);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package de.upb.sse.jess.tool;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Destination that per-method results are streamed to as soon as they complete, so that a repository run
+ * does not have to keep every {@link RepositoryProcessor.MethodResult} in memory.
+ *
+ * Results written to a sink can be read back with {@link Format#read} and turned into a
+ * {@link RepositoryProcessor.ProcessingResult} or {@link ResultsStore} again.
+ */
+public interface ResultsSink extends Closeable {
+
+    /**
+     * Writes a single method result together with the source files its slice depended on.
+     */
+    void write(RepositoryProcessor.MethodResult methodResult, Collection<Path> dependencies) throws IOException;
+
+    enum Format {
+        JSONL, CSV, BINARY;
+
+        public ResultsSink open(Path file) throws IOException {
+            switch (this) {
+                case JSONL: return new JsonLinesResultsSink(file);
+                case CSV: return new CsvResultsSink(file);
+                default: return new BinaryResultsSink(file);
+            }
+        }
+
+        /**
+         * Streams all records of a sink file to the consumer, one at a time.
+         */
+        public void read(Path file, Consumer<ResultsStore.Record> consumer) throws IOException {
+            switch (this) {
+                case JSONL: JsonLinesResultsSink.read(file, consumer); break;
+                case CSV: CsvResultsSink.read(file, consumer); break;
+                default: BinaryResultsSink.read(file, consumer); break;
+            }
+        }
+
+        public List<ResultsStore.Record> readAll(Path file) throws IOException {
+            List<ResultsStore.Record> records = new ArrayList<>();
+            read(file, records::add);
+            return records;
+        }
+
+        public static Format fromFileName(Path file) {
+            String name = file.getFileName().toString().toLowerCase();
+            if (name.endsWith(".jsonl") || name.endsWith(".json")) return JSONL;
+            if (name.endsWith(".csv")) return CSV;
+            return BINARY;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package de.upb.sse.jess.tool;
+
+import de.upb.sse.jess.api.PublicApi;
+import de.upb.sse.jess.util.FileUtil;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Persistent store of per-method results of a repository run, together with the source files each
+ * method's slice was computed from. Used by incremental runs to find out which methods are affected
+ * by a set of changed files (via a reverse dependency index) and to reuse the results of all others.
+ *
+ * The store is a line-oriented text file with one tab-separated record per method.
+ */
+public class ResultsStore {
+    static final String HEADER = "# jess results store v1";
+
+    /**
+     * A stored method result and the dependency closure of its slice.
+     */
+    public static class Record {
+        public final RepositoryProcessor.MethodResult methodResult;
+        public final Set<Path> dependencies;
+
+        public Record(RepositoryProcessor.MethodResult methodResult, Collection<Path> dependencies) {
+            this.methodResult = methodResult;
+            this.dependencies = Collections.unmodifiableSet(new LinkedHashSet<>(dependencies));
+        }
+    }
+
+    private final Map<String, Record> records = new LinkedHashMap<>();
+
+    public static String key(String binaryClassName, String methodName, String jvmDescriptor) {
+        return binaryClassName + "#" + methodName + jvmDescriptor;
+    }
+
+    public static String key(RepositoryProcessor.MethodResult mr) {
+        return key(mr.binaryClassName, mr.methodName, mr.jvmDescriptor);
+    }
+
+    public void put(RepositoryProcessor.MethodResult methodResult, Collection<Path> dependencies) {
+        Set<Path> deps = new LinkedHashSet<>();
+        if (methodResult.sourceFile != null) deps.add(normalize(Paths.get(methodResult.sourceFile)));
+        for (Path dep : dependencies) deps.add(normalize(dep));
+        records.put(key(methodResult), new Record(methodResult, deps));
+    }
+
+    public Record get(String key) {
+        return records.get(key);
+    }
+
+    public boolean contains(String key) {
+        return records.containsKey(key);
+    }
+
+    public Collection<Record> getRecords() {
+        return Collections.unmodifiableCollection(records.values());
+    }
+
+    public int size() {
+        return records.size();
+    }
+
+    /**
+     * Reverse dependency index: source file -> keys of the methods whose slice depends on it.
+     */
+    public Map<Path, Set<String>> buildReverseIndex() {
+        Map<Path, Set<String>> index = new HashMap<>();
+        for (Map.Entry<String, Record> e : records.entrySet()) {
+            for (Path dep : e.getValue().dependencies) {
+                index.computeIfAbsent(dep, k -> new HashSet<>()).add(e.getKey());
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Keys of the stored methods that have to be reprocessed because of the given changed files.
+     *
+     * A method is affected if any file of its dependency closure changed. Changed files that no stored
+     * slice depends on are new (or previously unresolvable), so they may provide types that were
+     * missing before; in that case all methods that did not compile are considered affected as well.
+     */
+    public Set<String> affectedBy(Collection<Path> changedFiles) {
+        Map<Path, Set<String>> index = buildReverseIndex();
+        Set<String> affected = new HashSet<>();
+        boolean unknownFileChanged = false;
+        for (Path changed : changedFiles) {
+            Set<String> keys = index.get(normalize(changed));
+            if (keys != null) {
+                affected.addAll(keys);
+            } else {
+                unknownFileChanged = true;
+            }
+        }
+
+        if (unknownFileChanged) {
+            for (Map.Entry<String, Record> e : records.entrySet()) {
+                if (e.getValue().methodResult.result.status != PublicApi.Status.OK) affected.add(e.getKey());
+            }
+        }
+        return affected;
+    }
+
+    /**
+     * Computes the Java files that differ between two directory snapshots (added, removed or modified),
+     * as paths relative to the snapshot roots.
+     */
+    public static Set<Path> diffSnapshots(Path oldSnapshot, Path newSnapshot) throws IOException {
+        Map<Path, String> oldHashes = hashJavaFiles(oldSnapshot);
+        Map<Path, String> newHashes = hashJavaFiles(newSnapshot);
+
+        Set<Path> changed = new TreeSet<>();
+        for (Map.Entry<Path, String> e : newHashes.entrySet()) {
+            if (!e.getValue().equals(oldHashes.get(e.getKey()))) changed.add(e.getKey());
+        }
+        for (Path p : oldHashes.keySet()) {
+            if (!newHashes.containsKey(p)) changed.add(p);
+        }
+        return changed;
+    }
+
+    private static Map<Path, String> hashJavaFiles(Path root) throws IOException {
+        Map<Path, String> hashes = new HashMap<>();
+        if (!Files.isDirectory(root)) return hashes;
+        List<Path> files;
+        try (Stream<Path> s = Files.walk(root)) {
+            files = s.filter(p -> Files.isRegularFile(p) && p.getFileName().toString().endsWith(".java"))
+                    .collect(Collectors.toList());
+        }
+        for (Path p : files) {
+            hashes.put(root.relativize(p), FileUtil.contentHash(p));
+        }
+        return hashes;
+    }
+
+    public void save(Path file) throws IOException {
+        if (file.getParent() != null) Files.createDirectories(file.getParent());
+        try (BufferedWriter w = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            w.write(HEADER);
+            w.newLine();
+            for (Record r : records.values()) {
+                w.write(toLine(r));
+                w.newLine();
+            }
+        }
+    }
+
+    public static ResultsStore load(Path file) throws IOException {
+        ResultsStore store = new ResultsStore();
+        if (!Files.isRegularFile(file)) return store;
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            if (line.isEmpty() || line.startsWith("#")) continue;
+            Record r = fromLine(line);
+            if (r != null) store.records.put(key(r.methodResult), r);
+        }
+        return store;
+    }
+
+    /**
+     * Rebuilds a results store from a file written by a {@link ResultsSink}.
+     */
+    public static ResultsStore fromSink(Path file, ResultsSink.Format format) throws IOException {
+        ResultsStore store = new ResultsStore();
+        format.read(file, r -> store.records.put(key(r.methodResult), r));
+        return store;
+    }
+
+    /** Names of the serialized record fields, in order (see {@link #toFields} / {@link #fromFields}). */
+    static final String[] FIELDS = {
+            "binaryClassName", "methodName", "jvmDescriptor", "sourceFile", "status", "classesOutDir",
+            "targetClassFile", "targetHasCode", "usedStubs", "depsResolved", "elapsedMs", "notes", "dependencies"
+    };
+
+    /**
+     * Flattens a record into nullable string fields in {@link #FIELDS} order; shared by all results formats.
+     */
+    static String[] toFields(Record r) {
+        RepositoryProcessor.MethodResult mr = r.methodResult;
+        PublicApi.Result res = mr.result;
+        String deps = r.dependencies.stream().map(Path::toString).collect(Collectors.joining(java.io.File.pathSeparator));
+        return new String[]{
+                mr.binaryClassName,
+                mr.methodName,
+                mr.jvmDescriptor,
+                mr.sourceFile,
+                res.status.name(),
+                res.classesOutDir == null ? null : res.classesOutDir.toString(),
+                res.targetClassFile,
+                String.valueOf(res.targetHasCode),
+                String.valueOf(res.usedStubs),
+                res.depsResolved,
+                String.valueOf(res.elapsedMs),
+                res.notes,
+                deps
+        };
+    }
+
+    /**
+     * Inverse of {@link #toFields}; returns null for malformed records.
+     */
+    static Record fromFields(String[] f) {
+        if (f.length < FIELDS.length) return null;
+        try {
+            PublicApi.Result res = new PublicApi.Result(
+                    PublicApi.Status.valueOf(f[4]),
+                    f[5] == null ? null : Paths.get(f[5]),
+                    f[0],
+                    Collections.emptyList(),
+                    f[6],
+                    Boolean.parseBoolean(f[7]),
+                    Boolean.parseBoolean(f[8]),
+                    f[9],
+                    Long.parseLong(f[10]),
+                    f[11]);
+            RepositoryProcessor.MethodResult mr = new RepositoryProcessor.MethodResult(f[0], f[1], f[2], f[3], res);
+            List<Path> deps = new ArrayList<>();
+            if (f[12] != null && !f[12].isEmpty()) {
+                for (String d : f[12].split(java.util.regex.Pattern.quote(java.io.File.pathSeparator))) deps.add(Paths.get(d));
+            }
+            return new Record(mr, deps);
+        } catch (RuntimeException e) {
+            System.err.println("[ResultsStore] Skipping malformed record: " + e.getMessage());
+            return null;
+        }
+    }
+
+    static String toLine(Record r) {
+        String[] fields = toFields(r);
+        for (int i = 0; i < fields.length; i++) fields[i] = escape(fields[i]);
+        return String.join("\t", fields);
+    }
+
+    static Record fromLine(String line) {
+        String[] f = line.split("\t", -1);
+        for (int i = 0; i < f.length; i++) f[i] = unescape(f[i]);
+        return fromFields(f);
+    }
+
+    // null is encoded as a single backslash so that it can be told apart from the empty string
+    static String escape(String s) {
+        if (s == null) return "\\";
+        StringBuilder sb = new StringBuilder(s.length());
+        for (char c : s.toCharArray()) {
+            switch (c) {
+                case '\\': sb.append("\\\\"); break;
+                case '\t': sb.append("\\t"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                default: sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    static String unescape(String s) {
+        if ("\\".equals(s)) return null;
+        StringBuilder sb = new StringBuilder(s.length());
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c == '\\' && i + 1 < s.length()) {
+                char n = s.charAt(++i);
+                switch (n) {
+                    case 't': sb.append('\t'); break;
+                    case 'n': sb.append('\n'); break;
+                    case 'r': sb.append('\r'); break;
+                    default: sb.append(n);
+                }
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+
+    private static Path normalize(Path p) {
+        return p.toAbsolutePath().normalize();
+    }
+}
@@ -0,0 +1,114 @@
+package de.upb.sse.jess.tool;
+
+import de.upb.sse.jess.configuration.JessConfiguration;
+import de.upb.sse.jess.stubbing.SpoonStubbingRunner;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Entry point of a forked worker JVM (see {@link WorkerPool}).
+ *
+ * Protocol (one line per message on stdin/stdout, fields escaped as in {@link ResultsStore}):
+ * the parent first sends {@code PKG\t<root>} and {@code JAR\t<jar>} lines terminated by {@code END},
+ * then one {@code M\t...} request per method; the worker answers each with an {@code R\t<counters>\t...}
+ * record, where the comma-separated counters are the method's {@link SpoonStubbingRunner} summary counters.
+ * All other output of Jess goes to stderr. The worker exits on end of input or after a fatal error.
+ */
+public class WorkerMain {
+    private static final String REQUEST = "M";
+    private static final String RESPONSE = "R";
+
+    public static void main(String[] args) throws IOException {
+        // stdout is reserved for the protocol, everything Jess prints goes to stderr
+        PrintStream protocol = new PrintStream(System.out, true, StandardCharsets.UTF_8);
+        System.setOut(System.err);
+
+        BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+        Set<String> packages = new LinkedHashSet<>();
+        Set<String> jars = new LinkedHashSet<>();
+        String line;
+        while ((line = in.readLine()) != null && !"END".equals(line)) {
+            if (line.startsWith("PKG\t")) packages.add(ResultsStore.unescape(line.substring(4)));
+            else if (line.startsWith("JAR\t")) jars.add(ResultsStore.unescape(line.substring(4)));
+        }
+
+        JessConfiguration config = RepositoryProcessor.createJessConfiguration();
+        while ((line = in.readLine()) != null) {
+            RepositoryProcessor.MethodToProcess m = decodeRequest(line);
+            if (m == null) continue;
+
+            SpoonStubbingRunner.resetCounters();
+            ResultsStore.Record record = RepositoryProcessor.compileMethod(m, config, packages, jars);
+            protocol.println(encodeResponse(record, SpoonStubbingRunner.getCounters()));
+
+            // JVM state may be poisoned after StackOverflowError/OutOfMemoryError, let the pool replace us
+            if (WorkerPool.isFatal(record.methodResult.result)) break;
+        }
+        protocol.flush();
+        System.exit(0);
+    }
+
+    static String encodeRequest(RepositoryProcessor.MethodToProcess m) {
+        return String.join("\t", REQUEST,
+                ResultsStore.escape(m.javaFile.toAbsolutePath().toString()),
+                ResultsStore.escape(m.binaryClassName),
+                ResultsStore.escape(m.methodName),
+                ResultsStore.escape(m.jvmDescriptor),
+                ResultsStore.escape(m.methodSignature),
+                String.valueOf(m.isClinit));
+    }
+
+    static RepositoryProcessor.MethodToProcess decodeRequest(String line) {
+        String[] f = line.split("\t", -1);
+        if (f.length < 7 || !REQUEST.equals(f[0])) return null;
+        return new RepositoryProcessor.MethodToProcess(
+                Paths.get(ResultsStore.unescape(f[1])),
+                ResultsStore.unescape(f[2]),
+                ResultsStore.unescape(f[3]),
+                ResultsStore.unescape(f[4]),
+                ResultsStore.unescape(f[5]),
+                Boolean.parseBoolean(f[6]));
+    }
+
+    static String encodeResponse(ResultsStore.Record record, long[] counters) {
+        StringBuilder sb = new StringBuilder(RESPONSE).append('\t');
+        for (int i = 0; i < counters.length; i++) {
+            if (i > 0) sb.append(',');
+            sb.append(counters[i]);
+        }
+        return sb.append('\t').append(ResultsStore.toLine(record)).toString();
+    }
+
+    static ResultsStore.Record decodeResponse(String line) {
+        if (!line.startsWith(RESPONSE + "\t")) return null;
+        int recordStart = line.indexOf('\t', RESPONSE.length() + 1);
+        if (recordStart < 0) return null;
+        return ResultsStore.fromLine(line.substring(recordStart + 1));
+    }
+
+    /**
+     * Summary counters of a response, or null if they cannot be read.
+     */
+    static long[] decodeCounters(String line) {
+        if (!line.startsWith(RESPONSE + "\t")) return null;
+        int recordStart = line.indexOf('\t', RESPONSE.length() + 1);
+        if (recordStart < 0) return null;
+        String field = line.substring(RESPONSE.length() + 1, recordStart);
+        if (field.isEmpty()) return new long[0];
+        try {
+            String[] parts = field.split(",");
+            long[] counters = new long[parts.length];
+            for (int i = 0; i < parts.length; i++) counters[i] = Long.parseLong(parts[i]);
+            return counters;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package de.upb.sse.jess.tool;
+
+import de.upb.sse.jess.api.PublicApi;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of long-lived child JVMs (running {@link WorkerMain}) that compile methods on behalf of
+ * {@link RepositoryProcessor}. Every worker has its own working directory, since Jess writes its
+ * gen/ and output/ directories relative to the working directory.
+ *
+ * A worker is recycled after a configurable number of methods, after a fatal error (StackOverflowError,
+ * OutOfMemoryError) and whenever it dies or exceeds the per-method timeout.
+ */
+public class WorkerPool implements Closeable {
+
+    /**
+     * Settings of the worker pool.
+     */
+    public static class Settings {
+        public final int workers;
+        public final String xss;
+        public final String xmx;
+        public final int methodsPerWorker;
+        public final long timeoutMs;
+        public final Path workDir;
+
+        public Settings(int workers, String xss, String xmx, int methodsPerWorker, long timeoutMs, Path workDir) {
+            this.workers = Math.max(1, workers);
+            this.xss = xss;
+            this.xmx = xmx;
+            this.methodsPerWorker = Math.max(1, methodsPerWorker);
+            this.timeoutMs = timeoutMs;
+            this.workDir = workDir;
+        }
+
+        public List<String> jvmArgs() {
+            List<String> args = new ArrayList<>();
+            if (xss != null && !xss.isEmpty()) args.add("-Xss" + xss);
+            if (xmx != null && !xmx.isEmpty()) args.add("-Xmx" + xmx);
+            return args;
+        }
+    }
+
+    private static class Worker {
+        final int id;
+        final Process process;
+        final BufferedWriter requests;
+        final BufferedReader responses;
+        int processed = 0;
+
+        Worker(int id, Process process) {
+            this.id = id;
+            this.process = process;
+            this.requests = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+            this.responses = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        }
+    }
+
+    private final Settings settings;
+    private final Set<String> packages;
+    private final Set<String> jars;
+    private final BlockingQueue<Integer> freeSlots = new LinkedBlockingQueue<>();
+    private final Map<Integer, Worker> workers = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "jess-worker-watchdog");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicInteger started = new AtomicInteger(0);
+    private final AtomicInteger recycled = new AtomicInteger(0);
+
+    public WorkerPool(Settings settings, Set<String> packages, Set<String> jars) {
+        this.settings = settings;
+        // Workers run in their own working directory, so relative source roots and jars are resolved here
+        this.packages = absolute(packages);
+        this.jars = absolute(jars);
+        for (int i = 0; i < settings.workers; i++) freeSlots.add(i);
+    }
+
+    private static Set<String> absolute(Set<String> paths) {
+        Set<String> result = new LinkedHashSet<>();
+        for (String p : paths) result.add(Paths.get(p).toAbsolutePath().normalize().toString());
+        return result;
+    }
+
+    /**
+     * Compiles a method in a worker JVM. Blocks until a worker is free. Never throws: failures of the worker
+     * itself are reported as INTERNAL_ERROR (or TIMEOUT) results.
+     */
+    public ResultsStore.Record compile(RepositoryProcessor.MethodToProcess m) {
+        int slot;
+        try {
+            slot = freeSlots.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return failure(m, PublicApi.Status.INTERNAL_ERROR, "Interrupted while waiting for a worker");
+        }
+
+        try {
+            Worker worker = workers.get(slot);
+            if (worker == null || !worker.process.isAlive()) {
+                worker = startWorker(slot);
+                workers.put(slot, worker);
+            }
+            return compileIn(worker, m);
+        } catch (IOException e) {
+            stopWorker(slot);
+            return failure(m, PublicApi.Status.INTERNAL_ERROR, "Worker JVM failed: " + e.getMessage());
+        } finally {
+            freeSlots.add(slot);
+        }
+    }
+
+    private ResultsStore.Record compileIn(Worker worker, RepositoryProcessor.MethodToProcess m) throws IOException {
+        worker.requests.write(WorkerMain.encodeRequest(m));
+        worker.requests.newLine();
+        worker.requests.flush();
+
+        AtomicBoolean timedOut = new AtomicBoolean(false);
+        ScheduledFuture<?> kill = settings.timeoutMs > 0
+                ? watchdog.schedule(() -> {
+                    timedOut.set(true);
+                    worker.process.destroyForcibly();
+                }, settings.timeoutMs, TimeUnit.MILLISECONDS)
+                : null;
+
+        String line;
+        try {
+            line = worker.responses.readLine();
+        } catch (IOException e) {
+            line = null;
+        } finally {
+            if (kill != null) kill.cancel(false);
+        }
+
+        if (line == null) {
+            stopWorker(worker.id);
+            if (timedOut.get()) {
+                return failure(m, PublicApi.Status.TIMEOUT, "Timed out after " + settings.timeoutMs + " ms");
+            }
+            return failure(m, PublicApi.Status.INTERNAL_ERROR, "Worker JVM died" + exitCode(worker));
+        }
+
+        ResultsStore.Record record = WorkerMain.decodeResponse(line);
+        if (record == null) {
+            stopWorker(worker.id);
+            return failure(m, PublicApi.Status.INTERNAL_ERROR, "Malformed worker response");
+        }
+
+        worker.processed++;
+        // Model build statistics of the worker JVM, so the repository summary covers all methods
+        de.upb.sse.jess.stubbing.SpoonStubbingRunner.addCounters(WorkerMain.decodeCounters(line));
+        boolean fatal = isFatal(record.methodResult.result);
+        if (fatal || worker.processed >= settings.methodsPerWorker) {
+            if (fatal) {
+                System.err.println("[WorkerPool] Recycling worker " + worker.id + " after fatal error: " + record.methodResult.result.notes);
+            }
+            stopWorker(worker.id);
+        }
+        return record;
+    }
+
+    static boolean isFatal(PublicApi.Result result) {
+        return result.notes != null && result.notes.startsWith(RepositoryProcessor.FATAL_ERROR_NOTE);
+    }
+
+    private Worker startWorker(int slot) throws IOException {
+        Path dir = settings.workDir.resolve("worker-" + slot);
+        Files.createDirectories(dir);
+
+        List<String> cmd = new ArrayList<>();
+        cmd.add(Paths.get(System.getProperty("java.home"), "bin", "java").toString());
+        cmd.addAll(settings.jvmArgs());
+        // Forward jess.* system properties (debug flags, stubber, slice cache, ...)
+        for (String name : System.getProperties().stringPropertyNames()) {
+            if (!name.startsWith("jess.")) continue;
+            String value = System.getProperty(name);
+            if ("jess.sliceCache".equals(name) || "jess.contextClasspath".equals(name)) value = Paths.get(value).toAbsolutePath().toString();
+            cmd.add("-D" + name + "=" + value);
+        }
+        cmd.add("-cp");
+        cmd.add(System.getProperty("java.class.path"));
+        cmd.add(WorkerMain.class.getName());
+
+        ProcessBuilder pb = new ProcessBuilder(cmd)
+                .directory(dir.toFile())
+                .redirectError(ProcessBuilder.Redirect.appendTo(dir.resolve("worker.log").toFile()));
+        Worker worker = new Worker(slot, pb.start());
+
+        for (String p : packages) {
+            worker.requests.write("PKG\t" + ResultsStore.escape(p));
+            worker.requests.newLine();
+        }
+        for (String j : jars) {
+            worker.requests.write("JAR\t" + ResultsStore.escape(j));
+            worker.requests.newLine();
+        }
+        worker.requests.write("END");
+        worker.requests.newLine();
+        worker.requests.flush();
+
+        if (started.incrementAndGet() > settings.workers) recycled.incrementAndGet();
+        return worker;
+    }
+
+    private void stopWorker(int slot) {
+        Worker worker = workers.remove(slot);
+        if (worker == null) return;
+        try {
+            worker.requests.close();
+        } catch (IOException ignored) {
+        }
+        try {
+            if (!worker.process.waitFor(5, TimeUnit.SECONDS)) worker.process.destroyForcibly();
+        } catch (InterruptedException e) {
+            worker.process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static String exitCode(Worker worker) {
+        try {
+            worker.process.waitFor(5, TimeUnit.SECONDS);
+            return worker.process.isAlive() ? "" : " (exit code " + worker.process.exitValue() + ")";
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return "";
+        }
+    }
+
+    private static ResultsStore.Record failure(RepositoryProcessor.MethodToProcess m, PublicApi.Status status, String notes) {
+        PublicApi.Result result = new PublicApi.Result(status, null, m.binaryClassName, Collections.emptyList(),
+                null, false, false, "provided", 0, notes);
+        return new ResultsStore.Record(new RepositoryProcessor.MethodResult(
+                m.binaryClassName, m.methodName, m.jvmDescriptor, m.javaFile.toString(), result), Collections.emptySet());
+    }
+
+    /**
+     * Number of workers that were started to replace a recycled or crashed one.
+     */
+    public int getRecycledCount() {
+        return recycled.get();
+    }
+
+    @Override
+    public void close() {
+        for (Integer slot : new ArrayList<>(workers.keySet())) stopWorker(slot);
+        watchdog.shutdownNow();
+        System.out.println("[WorkerPool] Started " + started.get() + " worker JVMs (" + recycled.get() + " replacements)");
+    }
+}
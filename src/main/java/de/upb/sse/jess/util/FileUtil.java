@@ -9,9 +9,14 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class FileUtil {
 
@@ -111,4 +116,44 @@ public class FileUtil {
         return getAllFilesRecursive(dir, ".class");
     }
 
+    /** SHA-256 of the file content as lowercase hex string. */
+    public static String contentHash(Path file) throws IOException {
+        return contentHash(Files.readAllBytes(file));
+    }
+
+    /** SHA-256 of the given bytes as lowercase hex string. */
+    public static String contentHash(byte[] content) {
+        MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        byte[] digest = md.digest(content);
+        StringBuilder sb = new StringBuilder(digest.length * 2);
+        for (byte b : digest) sb.append(String.format("%02x", b));
+        return sb.toString();
+    }
+
+    /**
+     * Path, size and modification time of every regular file below the given roots (a root may also be a
+     * single file, e.g. a jar), one line per file in path order. Missing roots are skipped.
+     */
+    public static String fileListing(Collection<Path> roots) throws IOException {
+        List<Path> files = new ArrayList<>();
+        for (Path root : roots) {
+            if (root == null || !Files.exists(root)) continue;
+            try (Stream<Path> walk = Files.walk(root)) {
+                walk.filter(Files::isRegularFile).map(p -> p.toAbsolutePath().normalize()).forEach(files::add);
+            }
+        }
+        Collections.sort(files);
+        StringBuilder sb = new StringBuilder();
+        for (Path file : files) {
+            sb.append(file).append('|').append(Files.size(file)).append('|')
+                    .append(Files.getLastModifiedTime(file).toMillis()).append('\n');
+        }
+        return sb.toString();
+    }
+
 }
@@ -0,0 +1,85 @@
+package de.upb.sse.jess.util;
+
+import de.upb.sse.jess.annotation.KeepMarks;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs deeply recursive work (JavaParser symbol resolution, Spoon model building) on a dedicated thread with a
+ * large stack, so circular or very deep type hierarchies do not overflow the caller's stack and the JVM-wide
+ * -Xss can stay at its default.
+ *
+ * The caller blocks until the task finished; results, exceptions and errors are passed through unchanged.
+ * Tasks started from a worker run inline, so nested calls do not spawn further threads. The current
+ * {@link KeepMarks} session is carried over to the worker and back.
+ */
+public class LargeStackExecutor {
+    private static final ThreadLocal<Boolean> onWorker = ThreadLocal.withInitial(() -> false);
+    private static final AtomicInteger threadCount = new AtomicInteger();
+
+    @FunctionalInterface
+    public interface Task<T, E extends Exception> {
+        T call() throws E;
+    }
+
+    /**
+     * Run {@code task} on a new thread with {@code stackSize} bytes of stack, or on the calling thread if the
+     * stack size is not positive or the caller already is a worker.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T, E extends Exception> T call(long stackSize, String name, Task<T, E> task) throws E {
+        if (stackSize <= 0 || onWorker.get()) return task.call();
+
+        Object[] result = new Object[1];
+        Throwable[] failure = new Throwable[1];
+        KeepMarks[] keepMarks = { KeepMarks.current() };
+        Thread worker = new Thread(null, () -> {
+            onWorker.set(true);
+            KeepMarks.setCurrent(keepMarks[0]);
+            try {
+                result[0] = task.call();
+            } catch (Throwable t) {
+                failure[0] = t;
+            } finally {
+                keepMarks[0] = KeepMarks.current();
+            }
+        }, name + "-" + threadCount.incrementAndGet(), stackSize);
+        worker.setDaemon(true);
+        worker.start();
+        joinUninterruptibly(worker);
+        KeepMarks.setCurrent(keepMarks[0]);
+
+        if (failure[0] instanceof RuntimeException) throw (RuntimeException) failure[0];
+        if (failure[0] instanceof Error) throw (Error) failure[0];
+        if (failure[0] != null) throw (E) failure[0];
+        return (T) result[0];
+    }
+
+    /**
+     * Stack size in bytes of a size such as {@code 64m}, {@code 512k} or {@code 1g}; plain numbers are bytes.
+     */
+    public static long parseSize(String size) {
+        String s = size.trim().toLowerCase();
+        long unit = 1;
+        if (s.endsWith("k")) unit = 1024;
+        else if (s.endsWith("m")) unit = 1024 * 1024;
+        else if (s.endsWith("g")) unit = 1024 * 1024 * 1024;
+        if (unit > 1) s = s.substring(0, s.length() - 1);
+        return Long.parseLong(s) * unit;
+    }
+
+    // The worker shares static resolver state with the caller, so the caller never returns while it is running
+    private static void joinUninterruptibly(Thread worker) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                worker.join();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+                worker.interrupt();
+            }
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+}
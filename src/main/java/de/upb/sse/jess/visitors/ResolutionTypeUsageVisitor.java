@@ -0,0 +1,46 @@
+package de.upb.sse.jess.visitors;
+
+import com.github.javaparser.ast.expr.FieldAccessExpr;
+import com.github.javaparser.ast.expr.MethodCallExpr;
+import com.github.javaparser.ast.expr.NameExpr;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import de.upb.sse.jess.annotation.Annotator;
+import de.upb.sse.jess.model.ResolutionInformation;
+
+/**
+ * {@link ResolutionVisitor} that also collects the type usage of {@link TypeUsageVisitor} into the given
+ * {@link ResolutionInformation}, so that a sliced unit is traversed once instead of twice.
+ */
+public class ResolutionTypeUsageVisitor extends ResolutionVisitor {
+    private final TypeUsageVisitor typeUsage = new TypeUsageVisitor();
+    private final ResolutionInformation resInfo;
+
+    public ResolutionTypeUsageVisitor(Annotator ann, ResolutionInformation resInfo) {
+        super(ann);
+        this.resInfo = resInfo;
+    }
+
+    @Override
+    public void visit(ClassOrInterfaceType cit, Void arg) {
+        super.visit(cit, arg);
+        typeUsage.collect(cit, resInfo);
+    }
+
+    @Override
+    public void visit(MethodCallExpr mce, Void arg) {
+        super.visit(mce, arg);
+        typeUsage.collect(mce, resInfo);
+    }
+
+    @Override
+    public void visit(FieldAccessExpr fae, Void arg) {
+        super.visit(fae, arg);
+        typeUsage.collect(fae, resInfo);
+    }
+
+    @Override
+    public void visit(NameExpr ne, Void arg) {
+        super.visit(ne, arg);
+        typeUsage.collect(ne, resInfo);
+    }
+}
@@ -32,7 +32,7 @@ public class SignatureTypeUsageVisitor extends VoidVisitorAdapter<Void> {
     @Override
     public void visit(MethodDeclaration md, Void arg) {
         super.visit(md, arg);
-        if (!md.isAnnotationPresent(Annotator.KEEP_ANNOTATION)) return;
+        if (!Annotator.isKeep(md)) return;
 
         checkType(md.getType());
         md.getParameters().forEach(param -> checkType(param.getType()));
@@ -41,7 +41,7 @@ public class SignatureTypeUsageVisitor extends VoidVisitorAdapter<Void> {
     @Override
     public void visit(ConstructorDeclaration cd, Void arg) {
         super.visit(cd, arg);
-        if (!cd.isAnnotationPresent(Annotator.KEEP_ANNOTATION)) return;
+        if (!Annotator.isKeep(cd)) return;
 
         cd.getParameters().forEach(param -> checkType(param.getType()));
     }
@@ -49,7 +49,7 @@ public class SignatureTypeUsageVisitor extends VoidVisitorAdapter<Void> {
     @Override
     public void visit(FieldDeclaration fd, Void arg) {
         super.visit(fd, arg);
-        if (!fd.isAnnotationPresent(Annotator.KEEP_ANNOTATION)) return;
+        if (!Annotator.isKeep(fd)) return;
 
         fd.getVariables().forEach(v -> checkType(v.getType()));
     }
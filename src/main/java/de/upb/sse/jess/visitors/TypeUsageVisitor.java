@@ -18,6 +18,30 @@ public class TypeUsageVisitor extends VoidVisitorAdapter<ResolutionInformation>
     @Override
     public void visit(ClassOrInterfaceType cit, ResolutionInformation resInfo) {
         super.visit(cit, resInfo);
+        collect(cit, resInfo);
+    }
+
+    @Override
+    public void visit(MethodCallExpr mce, ResolutionInformation resInfo) {
+        super.visit(mce, resInfo);
+        collect(mce, resInfo);
+    }
+
+    @Override
+    public void visit(FieldAccessExpr fae, ResolutionInformation resInfo) {
+        super.visit(fae, resInfo);
+        collect(fae, resInfo);
+    }
+
+    @Override
+    public void visit(NameExpr ne, ResolutionInformation resInfo) {
+        super.visit(ne, resInfo);
+        collect(ne, resInfo);
+    }
+
+    // Single-node handlers (no traversal), also used by ResolutionTypeUsageVisitor
+
+    public void collect(ClassOrInterfaceType cit, ResolutionInformation resInfo) {
         ResolvedType rt = RobustResolver.tryResolve(cit);
 
         if (rt == null || rt.isTypeVariable()) {
@@ -28,10 +52,7 @@ public class TypeUsageVisitor extends VoidVisitorAdapter<ResolutionInformation>
         resInfo.addResolvableType(rt);
     }
 
-    @Override
-    public void visit(MethodCallExpr mce, ResolutionInformation resInfo) {
-        super.visit(mce, resInfo);
-
+    public void collect(MethodCallExpr mce, ResolutionInformation resInfo) {
         ResolvedMethodDeclaration resolvedMethodDeclaration = RobustResolver.tryResolve(mce);
         if (resolvedMethodDeclaration != null && resolvedMethodDeclaration.isStatic()) {
             resInfo.addStaticMethod(mce.getNameAsString());
@@ -54,10 +75,7 @@ public class TypeUsageVisitor extends VoidVisitorAdapter<ResolutionInformation>
         resInfo.addResolvableType(rt);
     }
 
-    @Override
-    public void visit(FieldAccessExpr fae, ResolutionInformation resInfo) {
-        super.visit(fae, resInfo);
-
+    public void collect(FieldAccessExpr fae, ResolutionInformation resInfo) {
         ResolvedValueDeclaration resolvedValueDeclaration = RobustResolver.tryResolve(fae);
         if (resolvedValueDeclaration != null && resolvedValueDeclaration.isField() && resolvedValueDeclaration.asField().isStatic()) {
             resInfo.addStaticField(fae.getNameAsString());
@@ -67,10 +85,7 @@ public class TypeUsageVisitor extends VoidVisitorAdapter<ResolutionInformation>
         }
     }
 
-    @Override
-    public void visit(NameExpr ne, ResolutionInformation resInfo) {
-        super.visit(ne, resInfo);
-
+    public void collect(NameExpr ne, ResolutionInformation resInfo) {
         ResolvedValueDeclaration rvd = RobustResolver.tryResolve(ne);
         if (rvd instanceof JavaParserFieldDeclaration) {
             JavaParserFieldDeclaration jfd = (JavaParserFieldDeclaration) rvd;
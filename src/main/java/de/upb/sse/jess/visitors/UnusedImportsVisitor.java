@@ -2,11 +2,14 @@ package de.upb.sse.jess.visitors;
 
 import com.github.javaparser.ast.CompilationUnit;
 import com.github.javaparser.ast.ImportDeclaration;
+import com.github.javaparser.ast.NodeList;
 import com.github.javaparser.ast.expr.MethodCallExpr;
 import com.github.javaparser.ast.expr.NameExpr;
 import com.github.javaparser.ast.nodeTypes.NodeWithSimpleName;
 import com.github.javaparser.ast.visitor.ModifierVisitor;
+import com.github.javaparser.ast.visitor.Visitable;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
@@ -33,6 +36,16 @@ public class UnusedImportsVisitor extends ModifierVisitor<Void> {
         this.isTargetClass = isTargetClass;
     }
 
+    @Override
+    public Visitable visit(CompilationUnit cu, Void arg) {
+        // Only imports can be removed, the type declarations need not be traversed
+        NodeList<ImportDeclaration> imports = cu.getImports();
+        for (ImportDeclaration id : new ArrayList<>(imports)) {
+            if (visit(id, arg) == null) imports.remove(id);
+        }
+        return cu;
+    }
+
     @Override
     public ImportDeclaration visit(ImportDeclaration id, Void arg) {
         super.visit(id, arg);
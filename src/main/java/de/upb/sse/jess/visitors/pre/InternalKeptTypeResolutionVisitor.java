@@ -7,7 +7,6 @@ import com.github.javaparser.ast.body.ConstructorDeclaration;
 import com.github.javaparser.ast.body.FieldDeclaration;
 import com.github.javaparser.ast.body.MethodDeclaration;
 import com.github.javaparser.ast.expr.NameExpr;
-import com.github.javaparser.ast.nodeTypes.NodeWithAnnotations;
 import com.github.javaparser.ast.stmt.BlockStmt;
 import com.github.javaparser.ast.type.ClassOrInterfaceType;
 import com.github.javaparser.ast.type.Type;
@@ -63,7 +62,7 @@ public class InternalKeptTypeResolutionVisitor extends VoidVisitorAdapter<Void>
     @Override
     public void visit(ClassOrInterfaceDeclaration cid, Void arg) {
         super.visit(cid, arg);
-        if (!cid.isAnnotationPresent(Annotator.KEEP_ANNOTATION) && !cid.isAnnotationPresent(Annotator.KEEP_ALL_ANNOTATION)) return;
+        if (!Annotator.isKept(cid)) return;
 
         annotateImplementedAndExtendedTypeParameters(cid);
     }
@@ -121,7 +120,7 @@ public class InternalKeptTypeResolutionVisitor extends VoidVisitorAdapter<Void>
         Optional<ConstructorDeclaration> constructorDeclarationOpt = cit.findAncestor(ConstructorDeclaration.class);
         Optional<ClassOrInterfaceDeclaration> ciDeclarationOpt = cit.findAncestor(ClassOrInterfaceDeclaration.class);
 
-        NodeWithAnnotations<?> node = null;
+        Node node = null;
         if (fieldDeclarationOpt.isPresent()) {
             node = fieldDeclarationOpt.get();
         } else if (methodDeclarationOpt.isPresent()) {
@@ -134,8 +133,8 @@ public class InternalKeptTypeResolutionVisitor extends VoidVisitorAdapter<Void>
 
         if (node == null) return false;
 
-        if (node.isAnnotationPresent(Annotator.KEEP_ALL_ANNOTATION)) return true;
-        return node.isAnnotationPresent(Annotator.KEEP_ANNOTATION) && isInSignature(cit) ;
+        if (Annotator.isKeepAll(node)) return true;
+        return Annotator.isKeep(node) && isInSignature(cit) ;
     }
 
     private boolean isInSignature(ClassOrInterfaceType cit) {
@@ -148,8 +147,8 @@ public class InternalKeptTypeResolutionVisitor extends VoidVisitorAdapter<Void>
         Optional<FieldDeclaration> fieldDeclarationOpt = node.findAncestor(FieldDeclaration.class);
         if (fieldDeclarationOpt.isPresent()) {
             FieldDeclaration fieldDeclaration = fieldDeclarationOpt.get();
-            if (fieldDeclaration.isAnnotationPresent(Annotator.KEEP_ALL_ANNOTATION)) return true;
-            if (fieldDeclaration.isAnnotationPresent(Annotator.KEEP_ANNOTATION)) return true;
+            if (Annotator.isKeepAll(fieldDeclaration)) return true;
+            if (Annotator.isKeep(fieldDeclaration)) return true;
         }
         return false;
     }
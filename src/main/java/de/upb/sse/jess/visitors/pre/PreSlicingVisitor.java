@@ -33,7 +33,7 @@ public class PreSlicingVisitor extends VoidVisitorAdapter<Void> {
         if (typeDecOpt.isEmpty()) return;
 
         TypeDeclaration typeDec = typeDecOpt.get();
-        if (!typeDec.isAnnotationPresent(Annotator.KEEP_ANNOTATION) && !typeDec.isAnnotationPresent(Annotator.KEEP_ALL_ANNOTATION)) return;
+        if (!Annotator.isKept(typeDec)) return;
 
         if (
                 ResolutionUtil.isAbstractFunctionalInterfaceMethod(md) ||
@@ -56,14 +56,14 @@ public class SlicingVisitor extends ModifierVisitor<Void> {
 //            }
 //        }
 
-        if (cid.isAnnotationPresent(Annotator.KEEP_ANNOTATION)) {
+        if (Annotator.isKeep(cid)) {
             if (cid.isInterface()) return cid;
 
             List<ConstructorDeclaration> constructors = cid.getConstructors();
             Optional<ConstructorDeclaration> defaultConstructorOpt = constructors.stream().filter(cd -> cd.getParameters().size() == 0).findAny();
 
             ConstructorDeclaration defaultConstructor = defaultConstructorOpt.isPresent() ? defaultConstructorOpt.get() : cid.addConstructor(Modifier.Keyword.PUBLIC);
-            if (defaultConstructor.isAnnotationPresent(Annotator.KEEP_ALL_ANNOTATION)) {
+            if (Annotator.isKeepAll(defaultConstructor)) {
                 // TODO: create another constructor if the default constructor is designated as target
 //                defaultConstructor = cid.addConstructor(Modifier.Keyword.PUBLIC);
 //                defaultConstructor.addParameter("int", "arg1");
@@ -87,12 +87,12 @@ public class SlicingVisitor extends ModifierVisitor<Void> {
     public EnumDeclaration visit(EnumDeclaration ed, Void arg) {
         super.visit(ed, arg);
 
-        if (ed.isAnnotationPresent(Annotator.KEEP_ANNOTATION)) {
+        if (Annotator.isKeep(ed)) {
             List<ConstructorDeclaration> constructors = ed.getConstructors();
             Optional<ConstructorDeclaration> defaultConstructorOpt = constructors.stream().filter(cd -> cd.getParameters().size() == 0).findAny();
 
             ConstructorDeclaration defaultConstructor = defaultConstructorOpt.isPresent() ? defaultConstructorOpt.get() : ed.addConstructor();
-            if (defaultConstructor.isAnnotationPresent(Annotator.KEEP_ALL_ANNOTATION)) return ed;
+            if (Annotator.isKeepAll(defaultConstructor)) return ed;
 
             addSuperCall(defaultConstructor);
             NodeList<Statement> defaultStatements = defaultConstructor.getBody().getStatements();
@@ -109,7 +109,7 @@ public class SlicingVisitor extends ModifierVisitor<Void> {
     public MethodDeclaration visit(MethodDeclaration md, Void arg) {
         super.visit(md, arg);
 
-        if (md.isAnnotationPresent(Annotator.KEEP_ALL_ANNOTATION)) return md;
+        if (Annotator.isKeepAll(md)) return md;
 
 //        if (ResolutionUtil.isAbstractFunctionalInterfaceMethod(md)) return SlicingUtil.emptyMethod(md);
 //        if (ResolutionUtil.isOverridingAbstractSuperMethod(md, targetClass)) return SlicingUtil.emptyMethod(md);
@@ -117,7 +117,7 @@ public class SlicingVisitor extends ModifierVisitor<Void> {
 //        if (ResolutionUtil.isOverridingKeptInterfaceMethod(md)) return SlicingUtil.emptyMethod(md);
 //        if (ResolutionUtil.isOverridingAbstractEnumMethod(md)) return SlicingUtil.emptyMethod(md);
 
-        if (md.isAnnotationPresent(Annotator.KEEP_ANNOTATION)) return SlicingUtil.emptyMethod(md);
+        if (Annotator.isKeep(md)) return SlicingUtil.emptyMethod(md);
 
         return null;
     }
@@ -126,13 +126,13 @@ public class SlicingVisitor extends ModifierVisitor<Void> {
     public ConstructorDeclaration visit(ConstructorDeclaration cd, Void arg) {
         super.visit(cd, arg);
 
-        if (cd.isAnnotationPresent(Annotator.KEEP_ALL_ANNOTATION)) {
+        if (Annotator.isKeepAll(cd)) {
             fixInitializedFinalFields(cd);
             return cd;
         }
         if (cd.getParameters().size() == 0) return cd;
 
-        if (cd.isAnnotationPresent(Annotator.KEEP_ANNOTATION)) {
+        if (Annotator.isKeep(cd)) {
 //            sliceConstructor(cd);
             ExplicitConstructorInvocationStmt ecis = new ExplicitConstructorInvocationStmt(true, null, new NodeList<>());
             NodeList<Statement> statements = new NodeList<>();
@@ -148,8 +148,8 @@ public class SlicingVisitor extends ModifierVisitor<Void> {
     public FieldDeclaration visit(FieldDeclaration fd, Void arg) {
         super.visit(fd, arg);
 //        if (fd.isFinal()) fd.setFinal(false);
-        if (fd.isAnnotationPresent(Annotator.KEEP_ALL_ANNOTATION)) return fd;
-        if (!fd.isAnnotationPresent(Annotator.KEEP_ANNOTATION)) return null;
+        if (Annotator.isKeepAll(fd)) return fd;
+        if (!Annotator.isKeep(fd)) return null;
 
 //        NodeList<VariableDeclarator> variables = fd.getVariables();
 //        variables.forEach(v -> {
@@ -188,8 +188,8 @@ public class SlicingVisitor extends ModifierVisitor<Void> {
     @Override
     public InitializerDeclaration visit(InitializerDeclaration id, Void arg) {
         super.visit(id, arg);
-        if (id.isAnnotationPresent(Annotator.KEEP_ANNOTATION)) return id;
-        if (id.isAnnotationPresent(Annotator.KEEP_ALL_ANNOTATION)) return id;
+        if (Annotator.isKeep(id)) return id;
+        if (Annotator.isKeepAll(id)) return id;
 
         return null;
     }
@@ -258,7 +258,7 @@ public class SlicingVisitor extends ModifierVisitor<Void> {
         ResolvedConstructorDeclaration shortestConstructor = getShortestSuperConstructor(cd, this.isPreSlicing);
 
         if (shortestConstructor == null) {
-            if (cd.isAnnotationPresent(Annotator.KEEP_ALL_ANNOTATION)) return;
+            if (Annotator.isKeepAll(cd)) return;
 
             cd.setBody(cd.getBody().setStatements(new NodeList<>()));
             return;
@@ -324,7 +324,7 @@ public class SlicingVisitor extends ModifierVisitor<Void> {
                 Optional<ConstructorDeclaration> conOpt = rCon.toAst(ConstructorDeclaration.class);
                 if (conOpt.isEmpty()) return false;
                 ConstructorDeclaration con = conOpt.get();
-                return con.isAnnotationPresent(Annotator.KEEP_ANNOTATION) || con.isAnnotationPresent(Annotator.KEEP_ALL_ANNOTATION);
+                return Annotator.isKept(con);
             })
                     .collect(Collectors.toList());
         }
@@ -428,7 +428,7 @@ public class SlicingVisitor extends ModifierVisitor<Void> {
         NodeList<Statement> statements = new NodeList<>();
         List<FieldDeclaration> fields = td.getFields();
         for (FieldDeclaration fd : fields) {
-            if (!fd.isAnnotationPresent(Annotator.KEEP_ANNOTATION) && !fd.isAnnotationPresent(Annotator.KEEP_ALL_ANNOTATION)) continue;
+            if (!Annotator.isKept(fd)) continue;
             if (!fd.isFinal()) continue;
             if (fd.isStatic()) continue;
 
@@ -0,0 +1,76 @@
+package de.upb.sse.jess.cache;
+
+import de.upb.sse.jess.Jess;
+import de.upb.sse.jess.configuration.JessConfiguration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SliceCacheTests {
+
+    @Test
+    void hit(@TempDir Path dir) throws Exception {
+        Path dep = Files.writeString(dir.resolve("A.java"), "class A {}");
+        SliceCache cache = new SliceCache(dir.resolve("cache"));
+        String key = store(cache, dir, dep);
+
+        SliceCache.Entry entry = cache.restore(key, dir.resolve("gen2"), dir.resolve("classes2"));
+        assertNotNull(entry);
+        assertEquals(1, entry.exitCode);
+        assertEquals("errors", entry.compilationErrors);
+        assertEquals(List.of(dep.toAbsolutePath().normalize()), entry.dependencies);
+        assertEquals("class A {}", Files.readString(dir.resolve("gen2/A.java")));
+        assertEquals(1, cache.getHits());
+    }
+
+    @Test
+    void missOnDependencyChange(@TempDir Path dir) throws Exception {
+        Path dep = Files.writeString(dir.resolve("A.java"), "class A {}");
+        SliceCache cache = new SliceCache(dir.resolve("cache"));
+        String key = store(cache, dir, dep);
+
+        Files.writeString(dep, "class A { int x; }");
+        assertNull(cache.restore(key, dir.resolve("gen2"), dir.resolve("classes2")));
+        assertNull(cache.restore("unknown", dir.resolve("gen2"), dir.resolve("classes2")));
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    void newFileInvalidates(@TempDir Path dir) throws Exception {
+        Path root = Files.createDirectories(dir.resolve("src/p")).getParent();
+        Files.writeString(root.resolve("p/A.java"), "package p;\npublic class A { int m() { return B.n(); } }\n");
+
+        assertEquals(0, sliceAndCount(root, dir.resolve("cache")));
+        assertEquals(1, sliceAndCount(root, dir.resolve("cache")));
+
+        // B was stubbed, a file declaring it now has to be sliced instead
+        Files.writeString(root.resolve("p/B.java"), "package p;\npublic class B { static int n() { return 1; } }\n");
+        assertEquals(0, sliceAndCount(root, dir.resolve("cache")));
+    }
+
+    private static String store(SliceCache cache, Path dir, Path dep) throws Exception {
+        Path gen = Files.createDirectories(dir.resolve("gen"));
+        Files.copy(dep, gen.resolve("A.java"));
+        Path classes = Files.createDirectories(dir.resolve("classes"));
+        String key = cache.key(dep, List.of("A.m()"), "config");
+        cache.store(key, List.of(dep), gen, classes, new SliceCache.Entry(1, "errors"));
+        return key;
+    }
+
+    // Slices p.A#m() with a fresh Jess and returns the number of cache hits
+    private static int sliceAndCount(Path root, Path cacheDir) throws Exception {
+        JessConfiguration config = new JessConfiguration();
+        config.setSliceCacheDir(cacheDir);
+        Jess jess = new Jess(config, List.of(root.toString()), Collections.emptyList());
+        String target = root.resolve("p/A.java").toString();
+        jess.preSlice(target, List.of("A.m()"), Collections.emptyList(), Collections.emptyList());
+        jess.parse(target);
+        return jess.getSliceCache().getHits();
+    }
+}
@@ -0,0 +1,51 @@
+package de.upb.sse.jess.resolution;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.resolution.declarations.ResolvedEnumDeclaration;
+import com.github.javaparser.resolution.types.ResolvedReferenceType;
+import de.upb.sse.jess.Jess;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RobustAncestorResolverTests {
+
+    @Test
+    @Timeout(30)
+    void circularInterfaces(@TempDir Path root) throws IOException {
+        Files.createDirectories(root.resolve("p"));
+        Files.writeString(root.resolve("p/A.java"), "package p;\npublic interface A extends B { }\n");
+        Files.writeString(root.resolve("p/B.java"), "package p;\npublic interface B extends A { }\n");
+        String enumSource = "package p;\npublic enum E implements A { X }\n";
+        Files.writeString(root.resolve("p/E.java"), enumSource);
+
+        new Jess(List.of(root.toString()), Collections.emptyList());
+        RobustResolver.clearCache();
+        CompilationUnit cu = StaticJavaParser.parse(enumSource);
+        Jess.inject(cu);
+
+        List<ResolvedReferenceType> interfaces =
+                RobustAncestorResolver.tryResolveAllInterfaces(cu.getEnumByName("E").orElseThrow().resolve());
+        Set<String> names = interfaces.stream().map(ResolvedReferenceType::getQualifiedName).collect(Collectors.toSet());
+
+        assertEquals(Set.of("p.A", "p.B"), names);
+        assertEquals(2, interfaces.size());
+
+        // Memoized until the pipeline's caches are cleared
+        ResolvedEnumDeclaration red = cu.getEnumByName("E").orElseThrow().resolve();
+        assertSame(interfaces, RobustAncestorResolver.tryResolveAllInterfaces(red));
+        RobustResolver.clearCache();
+        assertNotSame(interfaces, RobustAncestorResolver.tryResolveAllInterfaces(red));
+    }
+}
@@ -0,0 +1,60 @@
+package de.upb.sse.jess.resolution;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import com.github.javaparser.resolution.TypeSolver;
+import com.github.javaparser.resolution.declarations.ResolvedReferenceTypeDeclaration;
+import com.github.javaparser.resolution.model.SymbolReference;
+import com.github.javaparser.symbolsolver.JavaSymbolSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RobustResolverTests {
+
+    @Test
+    void unresolvedTypeIsMemoizedUntilClearCache() {
+        CountingTypeSolver solver = new CountingTypeSolver();
+        CompilationUnit cu = new JavaParser(new ParserConfiguration().setSymbolResolver(new JavaSymbolSolver(solver)))
+                .parse("package p;\nclass A { Missing m; }\n").getResult().orElseThrow();
+        ClassOrInterfaceType missing = cu.findFirst(ClassOrInterfaceType.class).orElseThrow();
+        TypeIndex.setCurrent(null);
+        RobustResolver.clearCache();
+
+        assertNull(RobustResolver.tryResolve(missing));
+        int lookups = solver.lookups;
+        assertTrue(lookups > 0);
+
+        assertNull(RobustResolver.tryResolve(missing));
+        assertEquals(lookups, solver.lookups);
+
+        RobustResolver.clearCache();
+        assertNull(RobustResolver.tryResolve(missing));
+        assertTrue(solver.lookups > lookups);
+    }
+
+    private static class CountingTypeSolver implements TypeSolver {
+        private final TypeSolver delegate = new ReflectionTypeSolver();
+        private TypeSolver parent;
+        int lookups = 0;
+
+        @Override
+        public TypeSolver getParent() {
+            return parent;
+        }
+
+        @Override
+        public void setParent(TypeSolver parent) {
+            this.parent = parent;
+        }
+
+        @Override
+        public SymbolReference<ResolvedReferenceTypeDeclaration> tryToSolveType(String name) {
+            lookups++;
+            return delegate.tryToSolveType(name);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package de.upb.sse.jess.resolution;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.type.ClassOrInterfaceType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TypeIndexTests {
+
+    @Test
+    void mayResolve(@TempDir Path root) throws IOException {
+        Files.createDirectories(root.resolve("p"));
+        Files.writeString(root.resolve("p/Other.java"), "package p;\npublic class Other { static class Nested {} }\n");
+
+        CompilationUnit cu = StaticJavaParser.parse(String.join("\n",
+                "package p;",
+                "class A<T> {",
+                "    class Local {}",
+                "    Other o; Nested n; Entry e; T t; Local l; Missing m; x.Missing q;",
+                "}"));
+        TypeIndex index = new TypeIndex(List.of(root), Collections.emptyList());
+
+        assertTrue(index.mayResolve(type(cu, "Other")));
+        assertTrue(index.mayResolve(type(cu, "Nested")));
+        assertTrue(index.mayResolve(type(cu, "Entry")));
+        assertTrue(index.mayResolve(type(cu, "T")));
+        assertTrue(index.mayResolve(type(cu, "Local")));
+        assertFalse(index.mayResolve(type(cu, "Missing")));
+        assertTrue(index.mayResolve(cu.findFirst(ClassOrInterfaceType.class, t -> t.getScope().isPresent()).orElseThrow()));
+    }
+
+    private static ClassOrInterfaceType type(CompilationUnit cu, String name) {
+        return cu.findFirst(ClassOrInterfaceType.class, t -> t.getNameAsString().equals(name) && t.getScope().isEmpty()).orElseThrow();
+    }
+}
@@ -0,0 +1,168 @@
+package de.upb.sse.jess.slicing;
+
+import com.github.javaparser.JavaParser;
+import com.github.javaparser.ParserConfiguration;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.symbolsolver.JavaSymbolSolver;
+import com.github.javaparser.symbolsolver.javaparsermodel.JavaParserFacade;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.CombinedTypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.JavaParserTypeSolver;
+import com.github.javaparser.symbolsolver.resolution.typesolvers.ReflectionTypeSolver;
+import de.upb.sse.jess.Slicer;
+import de.upb.sse.jess.annotation.Annotator;
+import de.upb.sse.jess.annotation.KeepMarks;
+import de.upb.sse.jess.configuration.JessConfiguration;
+import de.upb.sse.jess.model.ResolutionInformation;
+import de.upb.sse.jess.resolution.RobustResolver;
+import de.upb.sse.jess.resolution.TypeIndex;
+import de.upb.sse.jess.visitors.ResolutionVisitor;
+import de.upb.sse.jess.visitors.SignatureTypeUsageVisitor;
+import de.upb.sse.jess.visitors.TypeUsageVisitor;
+import de.upb.sse.jess.visitors.UnusedImportsVisitor;
+import de.upb.sse.jess.visitors.pre.InternalKeptTypeResolutionVisitor;
+import de.upb.sse.jess.visitors.pre.InternalResolutionVisitor;
+import de.upb.sse.jess.visitors.pre.PreSlicingVisitor;
+import de.upb.sse.jess.visitors.slicing.SlicingVisitor;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WorklistSlicerTests {
+
+    private static final Map<String, String> SOURCES = Map.ofEntries(
+            Map.entry("Target", "public class Target {\n"
+                    + "    int run() { Helper h = new Helper(); return h.compute(new Data(1)) + Util.twice(2); }\n"
+                    + "    void unused() { Other.x(); }\n"
+                    + "}"),
+            Map.entry("Helper", "public class Helper extends Base implements Op {\n"
+                    + "    int compute(Data d) { return d.value(); }\n"
+                    + "    public int apply(int x) { return x; }\n"
+                    + "    String unusedH() { return Other.y(); }\n"
+                    + "}"),
+            Map.entry("Base", "public abstract class Base<T extends Config> {\n"
+                    + "    protected Config cfg;\n"
+                    + "    abstract int compute(Data d);\n"
+                    + "    void unusedB() { }\n"
+                    + "}"),
+            Map.entry("Op", "public interface Op { int apply(int x); }"),
+            Map.entry("Data", "public class Data {\n"
+                    + "    private final int v;\n"
+                    + "    Data(int v) { this.v = v; }\n"
+                    + "    int value() { return v; }\n"
+                    + "    Extra extra(Config c) { return null; }\n"
+                    + "    static class Nested { Extra e; }\n"
+                    + "}"),
+            Map.entry("Util", "import java.util.List;\n"
+                    + "public class Util {\n"
+                    + "    static int twice(int x) { return Helper2.m(new Config()); }\n"
+                    + "    static List<String> unusedU() { return null; }\n"
+                    + "}"),
+            Map.entry("Helper2", "public class Helper2 { static int m(Config c) { return c.level(); } }"),
+            Map.entry("Config", "public class Config extends Extra { int level() { return 1; } }"),
+            Map.entry("Extra", "public class Extra { Other other; }"),
+            Map.entry("Other", "public class Other { static void x() { } static String y() { return null; } }"));
+
+    @Test
+    void sameAsRoundBasedSlicing(@TempDir Path root) throws IOException {
+        Path pkg = Files.createDirectories(root.resolve("p"));
+        for (Map.Entry<String, String> e : SOURCES.entrySet()) {
+            Files.writeString(pkg.resolve(e.getKey() + ".java"), "package p;\n" + e.getValue() + "\n");
+        }
+
+        Map<String, String> expected = slice(root, "p.Target", "Target.run()", true);
+        Map<String, String> actual = slice(root, "p.Target", "Target.run()", false);
+
+        // Extra is only reached via Helper -> Base -> Config -> Extra
+        assertTrue(expected.containsKey("p.Extra"));
+        assertEquals(expected, actual);
+        // Keep marks live beside the AST
+        assertTrue(actual.values().stream().noneMatch(code -> code.contains("@Keep")));
+    }
+
+    private static Map<String, String> slice(Path root, String targetClass, String method, boolean roundBased) throws IOException {
+        TypeIndex.setCurrent(null);
+        KeepMarks.setCurrent(new KeepMarks());
+        RobustResolver.clearCache();
+        JavaParserFacade.clearInstances();
+
+        CombinedTypeSolver typeSolver = new CombinedTypeSolver(new ReflectionTypeSolver(), new JavaParserTypeSolver(root));
+        JavaSymbolSolver symbolSolver = new JavaSymbolSolver(typeSolver);
+        ParserConfiguration parserConfig = new ParserConfiguration().setSymbolResolver(symbolSolver);
+        CompilationUnit cu = new JavaParser(parserConfig)
+                .parse(root.resolve(targetClass.replace('.', '/') + ".java")).getResult().orElseThrow();
+
+        // Same steps as Jess.preSlice and Jess.parse up to slicing
+        Annotator annotator = new Annotator();
+        annotator.keep(cu);
+        new InternalResolutionVisitor(annotator, List.of(method), Collections.emptyList(), Collections.emptyList(), false).visit(cu, null);
+        new InternalKeptTypeResolutionVisitor(annotator).visit(cu, null);
+        new PreSlicingVisitor(targetClass, annotator).visit(cu, null);
+        new SlicingVisitor(targetClass, true).visit(cu, null);
+
+        Annotator ann = new Annotator();
+        new ResolutionVisitor(ann).visit(cu, null);
+        Map<String, CompilationUnit> annotatedUnits = ann.getAnnotatedUnits();
+        annotatedUnits.remove(targetClass);
+        SignatureTypeUsageVisitor ituv = new SignatureTypeUsageVisitor(ann);
+        annotatedUnits.forEach((k, v) -> {
+            symbolSolver.inject(v);
+            ituv.visit(v, null);
+        });
+
+        JessConfiguration config = new JessConfiguration();
+        Map<String, CompilationUnit> sliced = roundBased
+                ? roundBasedSlice(config, targetClass, symbolSolver, annotatedUnits)
+                : new Slicer(config, targetClass, symbolSolver, annotatedUnits).slice();
+
+        Map<String, String> result = new TreeMap<>();
+        sliced.forEach((fqn, unit) -> result.put(fqn, unit.toString()));
+        return result;
+    }
+
+    // The slicing loop before the worklist, kept as reference
+    private static Map<String, CompilationUnit> roundBasedSlice(JessConfiguration config, String targetClass,
+                                                                JavaSymbolSolver symbolSolver,
+                                                                Map<String, CompilationUnit> annotatedUnits) {
+        Annotator ann = new Annotator();
+        for (CompilationUnit currentUnit : annotatedUnits.values()) {
+            sliceUnit(config, targetClass, symbolSolver, currentUnit, ann, ann);
+        }
+
+        Map<String, CompilationUnit> slicedUnits = ann.getAnnotatedUnits();
+        slicedUnits.remove(targetClass);
+
+        Map<String, CompilationUnit> fullySlicedUnits = new HashMap<>(slicedUnits);
+        while (fullySlicedUnits.size() > 0) {
+            Annotator fullySlicedAnnotator = new Annotator();
+            for (Map.Entry<String, CompilationUnit> entry : fullySlicedUnits.entrySet()) {
+                sliceUnit(config, targetClass, symbolSolver, entry.getValue(), ann, fullySlicedAnnotator);
+                annotatedUnits.putIfAbsent(entry.getKey(), entry.getValue());
+            }
+
+            Map<String, CompilationUnit> newlyDiscoveredUnits = fullySlicedAnnotator.getAnnotatedUnits();
+            for (Map.Entry<String, CompilationUnit> entry : annotatedUnits.entrySet()) {
+                newlyDiscoveredUnits.remove(entry.getKey());
+            }
+            fullySlicedUnits = new HashMap<>(newlyDiscoveredUnits);
+        }
+        return annotatedUnits;
+    }
+
+    private static void sliceUnit(JessConfiguration config, String targetClass, JavaSymbolSolver symbolSolver,
+                                  CompilationUnit currentUnit, Annotator preSlicingAnnotator, Annotator resolutionAnnotator) {
+        symbolSolver.inject(currentUnit);
+        new PreSlicingVisitor(targetClass, preSlicingAnnotator).visit(currentUnit, null);
+        new SlicingVisitor(targetClass).visit(currentUnit, null);
+        new ResolutionVisitor(resolutionAnnotator).visit(currentUnit, null);
+
+        ResolutionInformation usedTypesInfo = new ResolutionInformation();
+        new TypeUsageVisitor().visit(currentUnit, usedTypesInfo);
+        new UnusedImportsVisitor(usedTypesInfo.getAllTypes(), config.isKeepAsteriskImports()).visit(currentUnit, null);
+    }
+}
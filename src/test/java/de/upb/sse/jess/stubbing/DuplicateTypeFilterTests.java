@@ -0,0 +1,59 @@
+package de.upb.sse.jess.stubbing;
+
+import de.upb.sse.jess.configuration.JessConfiguration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static de.upb.sse.jess.util.TestFiles.write;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DuplicateTypeFilterTests {
+
+    @Test
+    void definesKnownType() {
+        Set<String> sliced = Set.of("p.A");
+        assertTrue(SpoonStubbingRunner.definesKnownType(Set.of("p.A", "p.A$Inner"), sliced, Set.of()));
+        assertTrue(SpoonStubbingRunner.definesKnownType(Set.of("p.B"), sliced, Set.of("p.B")));
+        assertFalse(SpoonStubbingRunner.definesKnownType(Set.of("p.B", "p.B$Inner"), sliced, Set.of("p.C")));
+    }
+
+    @Test
+    void noRebuild(@TempDir Path dir) throws Exception {
+        Path gen = write(dir.resolve("gen"), "p/A.java", "package p;\npublic class A { B b; }\n");
+        Path main = write(dir.resolve("main"), "p/A.java", "package p;\npublic class A { B b; static class Inner { } }\n");
+        write(main, "p/B.java", "package p;\npublic class B { }\n");
+        Path copy = write(dir.resolve("copy"), "p/B.java", "package p;\npublic class B { int x; }\n");
+
+        JessConfiguration config = new JessConfiguration();
+        config.setSourceRoots(List.of(main, copy));
+        SpoonStubbingRunner.resetCounters();
+        new SpoonStubbingRunner(config).run(gen, Collections.emptyList());
+
+        assertEquals(0, SpoonStubbingRunner.getModelRebuilds());
+    }
+
+    @Test
+    void speculativeRetry(@TempDir Path dir) throws Exception {
+        // The same type twice in the slice is only found by Spoon itself
+        Path gen = write(dir.resolve("gen"), "p/A.java", "package p;\npublic class A { B b; C c; }\n");
+        write(gen, "p/B.java", "package p;\nclass B { }\n");
+        write(gen, "p/Dup.java", "package p;\nclass B { }\n");
+        Path main = write(dir.resolve("main"), "p/C.java", "package p;\npublic class C { }\n");
+        write(main, "p/B.java", "package p;\nclass B { }\n");
+
+        JessConfiguration config = new JessConfiguration();
+        config.setSourceRoots(List.of(main));
+        config.setSpeculativeModelBuilds(true);
+        SpoonStubbingRunner.resetCounters();
+        new SpoonStubbingRunner(config).run(gen, Collections.emptyList());
+
+        assertEquals(1, SpoonStubbingRunner.getModelRebuilds());
+        assertTrue(SpoonStubbingRunner.getSummaryStats().contains("1 (100.0%) with context"), SpoonStubbingRunner.getSummaryStats());
+    }
+}
@@ -0,0 +1,58 @@
+package de.upb.sse.jess.stubbing.spoon.collector;
+
+import org.junit.jupiter.api.Test;
+import spoon.reflect.factory.Factory;
+import spoon.reflect.factory.FactoryImpl;
+import spoon.reflect.reference.CtTypeReference;
+import spoon.support.DefaultCoreFactory;
+import spoon.support.StandardEnvironment;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TypeSymbolsTests {
+
+    @Test
+    void keys() {
+        Factory f = new FactoryImpl(new DefaultCoreFactory(), new StandardEnvironment());
+        TypeSymbols symbols = new TypeSymbols();
+        CtTypeReference<?> a1 = f.Type().createReference("p.A");
+        CtTypeReference<?> a2 = f.Type().createReference("p.A");
+
+        int id = symbols.id(a1);
+        assertEquals(id, symbols.id(a2));
+        assertEquals("p.A", symbols.name(id));
+        assertEquals(1, symbols.size());
+
+        int m = symbols.id("m");
+        TypeSymbols.Key key = new TypeSymbols.Key(TypeSymbols.Key.Kind.METHOD, id, m, symbols.ids(List.of(a1)), 0);
+        assertEquals(key, new TypeSymbols.Key(TypeSymbols.Key.Kind.METHOD, id, m, symbols.ids(List.of(a2)), 0));
+        assertEquals(key.hashCode(), new TypeSymbols.Key(TypeSymbols.Key.Kind.METHOD, id, m, symbols.ids(List.of(a2)), 0).hashCode());
+        assertNotEquals(key, new TypeSymbols.Key(TypeSymbols.Key.Kind.METHOD, id, m, symbols.ids(List.of(a1)), 1));
+        assertNotEquals(key, new TypeSymbols.Key(TypeSymbols.Key.Kind.CTOR, id, m, symbols.ids(List.of(a1)), 0));
+        assertArrayEquals(new int[0], symbols.ids(null));
+    }
+
+    @Test
+    void rebinding() {
+        Factory f = new FactoryImpl(new DefaultCoreFactory(), new StandardEnvironment());
+        TypeSymbols symbols = new TypeSymbols();
+        CtTypeReference<?> ref = f.Type().createReference("unknown.A");
+        CtTypeReference<?> nested = f.Type().createReference("p.Outer$Inner");
+        int unknown = symbols.id(ref);
+        int inner = symbols.id(nested);
+        assertEquals(unknown, symbols.id(ref));
+
+        ref.setPackage(f.Package().createReference("p"));
+        assertEquals("p.A", symbols.name(symbols.id(ref)));
+        ref.setSimpleName("B");
+        assertEquals("p.B", symbols.name(symbols.id(ref)));
+        assertEquals(unknown, symbols.id(f.Type().createReference("unknown.A")));
+
+        assertEquals(inner, symbols.id(nested));
+        nested.getDeclaringType().setSimpleName("Other");
+        assertEquals("p.Other$Inner", symbols.name(symbols.id(nested)));
+        assertEquals(inner, symbols.id(f.Type().createReference("p.Outer$Inner")));
+    }
+}
@@ -0,0 +1,72 @@
+package de.upb.sse.jess.stubbing.spoon.context;
+
+import de.upb.sse.jess.configuration.JessConfiguration;
+import de.upb.sse.jess.stubbing.SpoonStubbingRunner;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static de.upb.sse.jess.util.TestFiles.write;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CompiledContextTests {
+
+    @Test
+    void compile(@TempDir Path dir) throws Exception {
+        Path main = write(dir.resolve("main"), "p/C.java", "package p;\npublic class C { public int size() { return 1; } }\n");
+        write(main, "p/Broken.java", "package p;\npublic class Broken { Missing m; }\n");
+
+        Optional<Path> classes = CompiledContext.forRoots(List.of(main), List.of(), 17, dir.resolve("cache"));
+        assertTrue(classes.isPresent());
+        assertTrue(Files.isRegularFile(classes.get().resolve("p/C.class")));
+        assertEquals(classes, CompiledContext.forRoots(List.of(main), List.of(), 17, dir.resolve("cache")));
+        assertTrue(CompiledContext.typeNames(classes.get()).contains("p.C"));
+    }
+
+    @Test
+    void recompileOnChange(@TempDir Path dir) throws Exception {
+        Path main = write(dir.resolve("main"), "p/C.java", "package p;\npublic class C {}\n");
+        Optional<Path> before = CompiledContext.forRoots(List.of(main), List.of(), 17, dir.resolve("cache"));
+
+        write(main, "p/D.java", "package p;\npublic class D { C c; }\n");
+        Optional<Path> after = CompiledContext.forRoots(List.of(main), List.of(), 17, dir.resolve("cache"));
+
+        assertTrue(before.isPresent() && after.isPresent());
+        assertNotEquals(before, after);
+        assertTrue(Files.isRegularFile(after.get().resolve("p/D.class")));
+    }
+
+    @Test
+    void classpathMode(@TempDir Path dir) throws Exception {
+        Path gen = write(dir.resolve("gen"), "p/A.java", "package p;\npublic class A { int m(C c) { return c.size(); } }\n");
+        Path main = write(dir.resolve("main"), "p/C.java", "package p;\npublic class C { public int size() { return 1; } }\n");
+
+        JessConfiguration config = new JessConfiguration();
+        config.setSourceRoots(List.of(main));
+        config.setContextMode(JessConfiguration.ContextMode.CLASSPATH);
+        new SpoonStubbingRunner(config).run(gen, Collections.emptyList());
+
+        assertFalse(Files.exists(gen.resolve("p/C.java")));
+    }
+
+    @Test
+    void classpathModeSliceMembers(@TempDir Path dir) throws Exception {
+        Path gen = write(dir.resolve("gen"), "p/A.java", "package p;\npublic class A { int m(C c) { return c.size() + missing(); } }\n");
+        Path main = write(dir.resolve("main"), "p/A.java", "package p;\npublic class A { int m(C c) { return c.size(); } int other() { return 0; } }\n");
+        write(main, "p/C.java", "package p;\npublic class C { public int size() { return 1; } }\n");
+
+        JessConfiguration config = new JessConfiguration();
+        config.setSourceRoots(List.of(main));
+        config.setContextMode(JessConfiguration.ContextMode.CLASSPATH);
+        new SpoonStubbingRunner(config).run(gen, Collections.emptyList());
+
+        // The slice's own A is compiled context too, but its missing member is still declared
+        assertTrue(Files.readString(gen.resolve("p/A.java")).matches("(?s).*missing\\(\\)\\s*\\{.*"));
+        assertFalse(Files.exists(gen.resolve("p/C.java")));
+    }
+}
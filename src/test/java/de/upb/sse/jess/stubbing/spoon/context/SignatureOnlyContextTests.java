@@ -0,0 +1,60 @@
+package de.upb.sse.jess.stubbing.spoon.context;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SignatureOnlyContextTests {
+
+    private static final String SOURCE = String.join("\n",
+            "package p;",
+            "import java.util.*;",
+            "public class Service extends Base implements Runnable {",
+            "    public static final String NAME = \"svc\" + Base.ID;",
+            "    static final Map<String, Integer> TABLE = new HashMap<>();",
+            "    static final int SIZE;",
+            "    private final List<String> items;",
+            "    private int counter = compute();",
+            "    static { SIZE = TABLE.size(); }",
+            "    { counter++; }",
+            "    public Service(int id) { super(id); items = new ArrayList<>(); helper(); }",
+            "    public void run() { for (String s : items) System.out.println(s + secretCall()); }",
+            "    <T extends Comparable<T>> T max(List<T> l) { return Collections.max(l); }",
+            "    private int compute() { return 42; }",
+            "    private String secretCall() { return new Object() { public String toString() { return \"x\"; } }.toString(); }",
+            "    private void helper() { }",
+            "    enum Kind { A(1) { int f() { return 2; } }, B(NAME.length()); Kind(int x) { } int f() { return 0; } }",
+            "}",
+            "class Base { static final int ID = 7; Base(int id) { } }",
+            "");
+
+    @Test
+    void reduce(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("src/p/Service.java");
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, SOURCE);
+
+        SignatureOnlyContext context = new SignatureOnlyContext(dir.resolve("cache"));
+        Path reduced = context.reduce(file);
+        String code = Files.readString(reduced);
+
+        assertNotEquals(file.toAbsolutePath(), reduced);
+        assertEquals("Service.java", reduced.getFileName().toString());
+        assertFalse(code.contains("secretCall()") && code.contains("println"));
+        assertFalse(code.contains("Collections.max"));
+        assertTrue(code.contains("\"svc\" + Base.ID"));
+        assertTrue(code.contains("super(id)"));
+        assertTrue(code.contains("<T extends Comparable<T>> T max(List<T> l)"));
+        assertEquals(0, ToolProvider.getSystemJavaCompiler().run(null, null, null,
+                "-d", dir.resolve("classes").toString(), reduced.toString()), code);
+
+        // Same content, same copy
+        assertEquals(reduced, new SignatureOnlyContext(dir.resolve("cache")).reduce(file));
+    }
+}
@@ -0,0 +1,43 @@
+package de.upb.sse.jess.stubbing.spoon.generate;
+
+import org.junit.jupiter.api.Test;
+import spoon.Launcher;
+import spoon.reflect.declaration.CtClass;
+import spoon.reflect.declaration.CtMethod;
+import spoon.reflect.factory.Factory;
+import spoon.reflect.reference.CtTypeReference;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MemberIndexTests {
+
+    @Test
+    void lookup() {
+        Launcher launcher = new Launcher();
+        launcher.getEnvironment().setNoClasspath(true);
+        launcher.addInputResource(new spoon.support.compiler.VirtualFile(
+                "package p; public class A { public A(Object o) {} void m(String s) {} void n(Object o) {} }", "p/A.java"));
+        launcher.buildModel();
+        Factory f = launcher.getFactory();
+        CtClass<?> a = f.Class().get("p.A");
+        CtTypeReference<?> string = f.Type().createReference("java.lang.String");
+        CtTypeReference<?> unknown = f.Type().createReference("unknown.Unknown");
+
+        MemberIndex index = new MemberIndex();
+        assertTrue(index.hasMethod(a, "m", List.of(string)));
+        assertFalse(index.hasMethod(a, "m", List.of()));
+        assertTrue(index.hasMethod(a, "n", List.of(unknown)));
+        assertTrue(index.hasConstructor(a, List.of(unknown)));
+        assertFalse(index.hasConstructor(a, List.of()));
+
+        CtMethod<?> added = f.Method().create(a, java.util.Set.of(), f.Type().VOID_PRIMITIVE, "m", List.of(), java.util.Set.of());
+        assertTrue(index.hasMethod(a, "m", List.of()));
+        a.removeMethod(added);
+        assertFalse(index.hasMethod(a, "m", List.of()));
+
+        a.getMethodsByName("m").get(0).getParameters().get(0).setType((CtTypeReference) unknown);
+        assertFalse(index.hasMethod(a, "m", List.of(string)));
+    }
+}
@@ -0,0 +1,40 @@
+package de.upb.sse.jess.stubbing.spoon.shim;
+
+import org.junit.jupiter.api.Test;
+import spoon.Launcher;
+import spoon.reflect.factory.Factory;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ShimLibraryTests {
+
+    @Test
+    void sharedLibrary() {
+        Factory first = new Launcher().getFactory();
+        Factory second = new Launcher().getFactory();
+        ShimGenerator a = new ShimGenerator(first);
+        ShimGenerator b = new ShimGenerator(second);
+
+        assertTrue(a.hasShim("org.slf4j.Logger"));
+        assertEquals(a.getAllShimFqns(), b.getAllShimFqns());
+
+        assertTrue(a.generateShimsForReferencedTypes(Set.of("org.slf4j.Logger")) > 0);
+        assertNotNull(first.Type().get("org.slf4j.Logger"));
+        assertNull(second.Type().get("org.slf4j.Logger"));
+        assertTrue(b.generateShimsForReferencedTypes(Set.of("org.slf4j.Logger")) > 0);
+        assertNotNull(second.Type().get("org.slf4j.Logger"));
+    }
+
+    @Test
+    void matching() {
+        List<String> matches = ShimGenerator.matchingShims(Set.of("org.slf4j.Logger", "shaded.slf4j.LoggerFactory", "p.NoSuchShim"));
+        assertTrue(matches.contains("org.slf4j.Logger"));
+        assertTrue(matches.contains("org.slf4j.LoggerFactory"));
+        assertFalse(matches.contains("org.slf4j.Marker"));
+        assertEquals(matches, ShimGenerator.matchingShims(Set.of("LoggerFactory", "org.slf4j.Logger")));
+        assertTrue(ShimGenerator.matchingShims(Set.of("p.NoSuchShim")).isEmpty());
+    }
+}
@@ -0,0 +1,46 @@
+package de.upb.sse.jess.tool;
+
+import de.upb.sse.jess.api.PublicApi;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CostSchedulerTests {
+
+    private static RepositoryProcessor.MethodToProcess method(String name, int lines) {
+        return new RepositoryProcessor.MethodToProcess(Path.of("A.java"), "p/A", name, "()V", name + "()", false, lines);
+    }
+
+    @Test
+    void longestFirst() {
+        RepositoryProcessor.MethodToProcess small = method("small", 5);
+        RepositoryProcessor.MethodToProcess large = method("large", 500);
+        RepositoryProcessor.MethodToProcess slow = method("slow", 5);
+
+        CostScheduler scheduler = new CostScheduler();
+        assertEquals(List.of(large, small, slow), scheduler.longestFirst(List.of(small, large, slow)));
+
+        ResultsStore history = new ResultsStore();
+        history.put(timed("slow", 60_000), List.of());
+        history.put(timed("small", 10), List.of());
+        scheduler.setHistory(history);
+        assertEquals(List.of(large, slow, small), scheduler.longestFirst(List.of(small, large, slow)));
+    }
+
+    private static RepositoryProcessor.MethodResult timed(String name, long elapsedMs) {
+        PublicApi.Result res = new PublicApi.Result(PublicApi.Status.OK, null, "p/A", Collections.emptyList(),
+                null, false, false, "provided", elapsedMs, "");
+        return new RepositoryProcessor.MethodResult("p/A", name, "()V", "A.java", res);
+    }
+
+    @Test
+    void idealMakespan() {
+        assertEquals(50, CostScheduler.idealMakespanMs(100, 10, 2));
+        assertEquals(80, CostScheduler.idealMakespanMs(100, 80, 4));
+        assertEquals(100, CostScheduler.idealMakespanMs(100, 10, 1));
+    }
+}
@@ -0,0 +1,54 @@
+package de.upb.sse.jess.tool;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DependencyGraphTests {
+
+    private static final Map<String, String> SOURCES = Map.of(
+            "A", "package p;\nimport java.util.List;\n"
+                    + "public class A {\n"
+                    + "    private B b = new B();\n"
+                    + "    int run(List<String> l) { C c = b.next(l.size()); return c.value + Util.twice(1); }\n"
+                    + "    void unused() { new D(); }\n"
+                    + "}",
+            "B", "package p;\npublic class B extends Base { }",
+            "Base", "package p;\npublic class Base { C next(int i) { return new C(i); } }",
+            "C", "package p;\npublic class C { int value; C(int v) { value = v; } }",
+            "Util", "package p;\npublic class Util { static int twice(int x) { return x * 2; } }",
+            "D", "package p;\npublic class D { }");
+
+    @Test
+    void closure(@TempDir Path root) throws IOException {
+        DescriptorBuilder names = new DescriptorBuilder();
+        DependencyGraph graph = new DependencyGraph(names);
+        Path pkg = Files.createDirectories(root.resolve("p"));
+        for (Map.Entry<String, String> e : SOURCES.entrySet()) {
+            Path file = pkg.resolve(e.getKey() + ".java");
+            Files.writeString(file, e.getValue());
+            names.addFile(file);
+        }
+        for (Map.Entry<String, String> e : SOURCES.entrySet()) {
+            CompilationUnit cu = StaticJavaParser.parse(e.getValue());
+            graph.addFile(cu, names.newContext(cu));
+        }
+        graph.freeze();
+
+        // A, B and its supertype Base, C (constructor and field) and Util, but not D
+        assertEquals(5, graph.closureTypes(DependencyGraph.methodKey("p/A", "run", "run(List<String>)", false)));
+        // D, A and the types of A's field initializer
+        assertEquals(4, graph.closureTypes(DependencyGraph.methodKey("p/A", "unused", "unused()", false)));
+        assertEquals(0, graph.closureTypes("p/Missing#m/0"));
+        assertEquals(0, DependencyGraph.arity("m()"));
+        assertEquals(2, DependencyGraph.arity("m(Map<K, V>, int)"));
+    }
+}
@@ -0,0 +1,50 @@
+package de.upb.sse.jess.tool;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.MethodDeclaration;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DescriptorBuilderTests {
+
+    private static final String SOURCE = String.join("\n",
+            "package p.q;",
+            "import java.util.*;",
+            "import java.util.Map.Entry;",
+            "import other.Thing;",
+            "public class A<T extends Comparable<T>> {",
+            "    static class Inner {}",
+            "    <E> void m1(String s, List<Integer> l, int[][] a, Object... rest) {}",
+            "    T m2(Inner i, Entry<String, String> e, java.util.Map.Entry<String, T> f) { return null; }",
+            "    <E extends Sibling> E m3(Thing t, Sibling s, E e, A.Inner ai) { return null; }",
+            "    Unknown m4() { return null; }",
+            "}");
+
+    @Test
+    void methodDescriptors(@TempDir Path tmp) throws IOException {
+        Path sibling = tmp.resolve("Sibling.java");
+        Files.writeString(sibling, "package p.q;\npublic class Sibling {}\n");
+
+        DescriptorBuilder builder = new DescriptorBuilder();
+        builder.addFile(sibling);
+        CompilationUnit cu = StaticJavaParser.parse(SOURCE);
+        DescriptorBuilder.FileContext ctx = builder.newContext(cu);
+
+        assertEquals("(Ljava/lang/String;Ljava/util/List;[[I[Ljava/lang/Object;)V", descriptor(builder, ctx, cu, "m1"));
+        assertEquals("(Lp/q/A$Inner;Ljava/util/Map$Entry;Ljava/util/Map$Entry;)Ljava/lang/Comparable;", descriptor(builder, ctx, cu, "m2"));
+        assertEquals("(Lother/Thing;Lp/q/Sibling;Lp/q/Sibling;Lp/q/A$Inner;)Lp/q/Sibling;", descriptor(builder, ctx, cu, "m3"));
+        assertEquals("()Lp/q/Unknown;", descriptor(builder, ctx, cu, "m4"));
+    }
+
+    private static String descriptor(DescriptorBuilder builder, DescriptorBuilder.FileContext ctx, CompilationUnit cu, String name) {
+        MethodDeclaration method = cu.findFirst(MethodDeclaration.class, m -> m.getNameAsString().equals(name)).orElseThrow();
+        return builder.methodDescriptor(method, ctx);
+    }
+}
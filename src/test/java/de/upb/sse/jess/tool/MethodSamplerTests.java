@@ -0,0 +1,60 @@
+package de.upb.sse.jess.tool;
+
+import de.upb.sse.jess.tool.RepositoryProcessor.MethodSampler;
+import de.upb.sse.jess.tool.RepositoryProcessor.MethodToProcess;
+import de.upb.sse.jess.tool.RepositoryProcessor.SelectionMode;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MethodSamplerTests {
+
+    @Test
+    void randomIsReproducibleAndBounded() {
+        List<MethodToProcess> methods = methods(100);
+
+        List<MethodToProcess> first = sample(SelectionMode.RANDOM, 10, methods);
+        List<MethodToProcess> second = sample(SelectionMode.RANDOM, 10, methods);
+
+        assertEquals(10, first.size());
+        assertEquals(first, second);
+        assertEquals(10, new HashSet<>(first).size());
+        assertNotEquals(methods.subList(0, 10), first);
+    }
+
+    @Test
+    void neverExceedsLimit() {
+        for (SelectionMode mode : SelectionMode.values()) {
+            assertEquals(5, sample(mode, 5, methods(50)).size());
+            assertEquals(3, sample(mode, 5, methods(3)).size());
+            assertEquals(50, sample(mode, 0, methods(50)).size());
+        }
+    }
+
+    @Test
+    void sequentialKeepsFirst() {
+        List<MethodToProcess> methods = methods(20);
+        assertEquals(methods.subList(0, 7), sample(SelectionMode.SEQUENTIAL, 7, methods));
+    }
+
+    private static List<MethodToProcess> sample(SelectionMode mode, int limit, List<MethodToProcess> methods) {
+        MethodSampler sampler = new MethodSampler(mode, limit, new Random(1234));
+        methods.forEach(sampler::offer);
+        assertEquals(methods.size(), sampler.getSeen());
+        return sampler.getSelected();
+    }
+
+    private static List<MethodToProcess> methods(int count) {
+        List<MethodToProcess> methods = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            methods.add(new MethodToProcess(Paths.get("A.java"), "p.A", "m" + i, "()V", "m" + i + "()", false));
+        }
+        return methods;
+    }
+}
@@ -0,0 +1,53 @@
+package de.upb.sse.jess.tool;
+
+import de.upb.sse.jess.api.PublicApi;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResultsSinkTests {
+
+    @TempDir
+    Path tmp;
+
+    @ParameterizedTest
+    @EnumSource(ResultsSink.Format.class)
+    void roundTrip(ResultsSink.Format format) throws IOException {
+        Path dep = tmp.resolve("Dep.java").toAbsolutePath();
+        PublicApi.Result ok = new PublicApi.Result(PublicApi.Status.OK, null, "p/A", Collections.emptyList(),
+                "p/A.class", true, false, "provided", 12, "");
+        PublicApi.Result failed = new PublicApi.Result(PublicApi.Status.FAILED_COMPILE, null, "p/A", Collections.emptyList(),
+                null, false, true, null, 34, "Errors: \"x\", y\nz\ttab");
+
+        Path file = tmp.resolve("results." + format.name().toLowerCase());
+        try (ResultsSink sink = format.open(file)) {
+            sink.write(new RepositoryProcessor.MethodResult("p/A", "foo", "()V", "A.java", ok), List.of(dep));
+            sink.write(new RepositoryProcessor.MethodResult("p/A", "bar", "(I)V", "A.java", failed), List.of());
+        }
+
+        List<ResultsStore.Record> records = format.readAll(file);
+        assertEquals(2, records.size());
+        assertEquals(List.of(dep), List.copyOf(records.get(0).dependencies));
+        assertEquals("Errors: \"x\", y\nz\ttab", records.get(1).methodResult.result.notes);
+        assertNull(records.get(1).methodResult.result.depsResolved);
+        assertEquals("", records.get(0).methodResult.result.notes);
+        assertEquals(34, records.get(1).methodResult.result.elapsedMs);
+        assertTrue(records.get(1).methodResult.result.usedStubs);
+        assertEquals(PublicApi.Status.FAILED_COMPILE, records.get(1).methodResult.result.status);
+
+        RepositoryProcessor.ProcessingResult result = RepositoryProcessor.ProcessingResult.fromMethodResults(
+                List.of(records.get(0).methodResult, records.get(1).methodResult), 5, -1, 1, 2, 0);
+        assertEquals(2, result.totalMethods);
+        assertEquals(1, result.methodsCompiledSuccessfully);
+        assertEquals(1, result.methodsWithAccessibleBytecode);
+        assertEquals(1, result.failedCompilations);
+        assertEquals(1, result.statusCounts.get(PublicApi.Status.FAILED_COMPILE));
+    }
+}
@@ -0,0 +1,140 @@
+package de.upb.sse.jess.tool;
+
+import com.github.javaparser.StaticJavaParser;
+import com.github.javaparser.ast.CompilationUnit;
+import com.github.javaparser.ast.body.ConstructorDeclaration;
+import de.upb.sse.jess.api.PublicApi;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResultsStoreTests {
+
+    @TempDir
+    Path tmp;
+
+    private static RepositoryProcessor.MethodResult result(String cls, String method, Path source, PublicApi.Status status) {
+        return result(cls, method, "()V", source, status);
+    }
+
+    private static RepositoryProcessor.MethodResult result(String cls, String method, String descriptor, Path source, PublicApi.Status status) {
+        PublicApi.Result res = new PublicApi.Result(status, null, cls, Collections.emptyList(),
+                null, false, false, "provided", 42, "note\twith tab");
+        return new RepositoryProcessor.MethodResult(cls, method, descriptor, source.toString(), res);
+    }
+
+    // Descriptors of the constructors of A, as computed during method discovery
+    private static List<String> constructorDescriptors() {
+        CompilationUnit cu = StaticJavaParser.parse("package p;\npublic class A { A(int i) {} A(String s) {} }");
+        DescriptorBuilder builder = new DescriptorBuilder();
+        DescriptorBuilder.FileContext ctx = builder.newContext(cu);
+        return cu.findAll(ConstructorDeclaration.class).stream()
+                .map(c -> builder.constructorDescriptor(c, ctx))
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    void roundTrip() throws IOException {
+        Path a = tmp.resolve("A.java");
+        Path b = tmp.resolve("B.java");
+        ResultsStore store = new ResultsStore();
+        store.put(result("p/A", "foo", a, PublicApi.Status.OK), List.of(b));
+
+        Path file = tmp.resolve("results.tsv");
+        store.save(file);
+        ResultsStore loaded = ResultsStore.load(file);
+
+        ResultsStore.Record r = loaded.get(ResultsStore.key("p/A", "foo", "()V"));
+        assertNotNull(r);
+        assertEquals(PublicApi.Status.OK, r.methodResult.result.status);
+        assertEquals("note\twith tab", r.methodResult.result.notes);
+        assertEquals(42, r.methodResult.result.elapsedMs);
+        assertTrue(r.dependencies.contains(b.toAbsolutePath().normalize()));
+    }
+
+    @Test
+    void overloadedConstructors() {
+        Path a = tmp.resolve("A.java");
+        List<String> descriptors = constructorDescriptors();
+        assertEquals(List.of("<init>(I)V", "<init>(Ljava/lang/String;)V"), descriptors);
+
+        ResultsStore store = new ResultsStore();
+        store.put(result("p/A", "A", descriptors.get(0), a, PublicApi.Status.OK), List.of());
+        store.put(result("p/A", "A", descriptors.get(1), a, PublicApi.Status.FAILED_COMPILE), List.of());
+        assertEquals(2, store.size());
+        assertEquals(PublicApi.Status.OK, store.get(ResultsStore.key("p/A", "A", descriptors.get(0))).methodResult.result.status);
+    }
+
+    @Test
+    void affectedMethods() {
+        Path a = tmp.resolve("A.java");
+        Path b = tmp.resolve("B.java");
+        Path c = tmp.resolve("C.java");
+        ResultsStore store = new ResultsStore();
+        store.put(result("p/A", "foo", a, PublicApi.Status.OK), List.of(b));
+        store.put(result("p/C", "bar", c, PublicApi.Status.FAILED_COMPILE), List.of());
+
+        assertEquals(Set.of(ResultsStore.key("p/A", "foo", "()V")), store.affectedBy(List.of(b)));
+        // unknown (e.g. new) files may provide missing types, so failed methods are reprocessed
+        assertEquals(Set.of(ResultsStore.key("p/C", "bar", "()V")), store.affectedBy(List.of(tmp.resolve("D.java"))));
+    }
+
+    @Test
+    void snapshotDiff() throws IOException {
+        Path oldDir = Files.createDirectories(tmp.resolve("old"));
+        Path newDir = Files.createDirectories(tmp.resolve("new"));
+        Files.writeString(oldDir.resolve("Same.java"), "class Same {}");
+        Files.writeString(newDir.resolve("Same.java"), "class Same {}");
+        Files.writeString(oldDir.resolve("Mod.java"), "class Mod {}");
+        Files.writeString(newDir.resolve("Mod.java"), "class Mod { int x; }");
+        Files.writeString(oldDir.resolve("Removed.java"), "class Removed {}");
+        Files.writeString(newDir.resolve("Added.java"), "class Added {}");
+
+        Set<Path> changed = ResultsStore.diffSnapshots(oldDir, newDir);
+        assertEquals(Set.of(Path.of("Mod.java"), Path.of("Removed.java"), Path.of("Added.java")), changed);
+    }
+
+    @Test
+    void journalResume() throws IOException {
+        Path a = tmp.resolve("A.java");
+        Path file = tmp.resolve("journal.tsv");
+        try (ResultsJournal journal = new ResultsJournal(file)) {
+            journal.write(result("p/A", "foo", a, PublicApi.Status.OK), List.of());
+            journal.write(result("p/A", "bar", a, PublicApi.Status.FAILED_COMPILE), List.of());
+        }
+        // simulate a crash in the middle of writing the next record
+        Files.writeString(file, "p/A\tbaz\t()V", java.nio.file.StandardOpenOption.APPEND);
+
+        ResultsStore resumed = ResultsJournal.load(file);
+        assertEquals(2, resumed.size());
+        assertTrue(resumed.contains(ResultsStore.key("p/A", "bar", "()V")));
+
+        try (ResultsJournal journal = new ResultsJournal(file)) {
+            journal.write(result("p/A", "baz", a, PublicApi.Status.OK), List.of());
+        }
+        assertEquals(3, ResultsJournal.load(file).size());
+    }
+
+    @Test
+    void journalResumeConstructors() throws IOException {
+        Path a = tmp.resolve("A.java");
+        Path file = tmp.resolve("journal.tsv");
+        List<String> descriptors = constructorDescriptors();
+        try (ResultsJournal journal = new ResultsJournal(file)) {
+            journal.write(result("p/A", "A", descriptors.get(0), a, PublicApi.Status.OK), List.of());
+        }
+
+        ResultsStore resumed = ResultsJournal.load(file);
+        assertTrue(resumed.contains(ResultsStore.key("p/A", "A", descriptors.get(0))));
+        assertFalse(resumed.contains(ResultsStore.key("p/A", "A", descriptors.get(1))));
+    }
+}
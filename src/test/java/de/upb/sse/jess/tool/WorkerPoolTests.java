@@ -0,0 +1,40 @@
+package de.upb.sse.jess.tool;
+
+import de.upb.sse.jess.api.PublicApi;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WorkerPoolTests {
+
+    @Test
+    @Timeout(300)
+    void relativeSourceRoot(@TempDir Path dir) throws Exception {
+        Path root = Files.createDirectories(dir.resolve("src/p")).getParent();
+        Path lib = Files.createDirectories(dir.resolve("lib/q")).getParent();
+        Files.writeString(root.resolve("p/A.java"), "package p;\nimport q.B;\npublic class A { int m() { return B.n(); } }\n");
+        Files.writeString(lib.resolve("q/B.java"), "package q;\npublic class B { public static int n() { return 1; } }\n");
+
+        // Relative to this JVM's working directory, not to the worker's
+        Path cwd = Paths.get("").toAbsolutePath();
+        Set<String> packages = Set.of(cwd.relativize(root).toString(), cwd.relativize(lib).toString());
+        WorkerPool.Settings settings = new WorkerPool.Settings(1, null, null, 10, 0, dir.resolve("workers"));
+        try (WorkerPool pool = new WorkerPool(settings, packages, Collections.emptySet())) {
+            ResultsStore.Record record = pool.compile(new RepositoryProcessor.MethodToProcess(
+                    root.resolve("p/A.java"), "p/A", "m", "()I", "A.m()", false));
+
+            assertEquals(PublicApi.Status.OK, record.methodResult.result.status, record.methodResult.result.notes);
+        }
+        // The worker runs in its own directory and must still find both roots
+        String log = Files.readString(dir.resolve("workers/worker-0/worker.log"));
+        assertFalse(log.contains("Skipping invalid source root"));
+    }
+}
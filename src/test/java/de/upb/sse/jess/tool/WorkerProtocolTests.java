@@ -0,0 +1,30 @@
+package de.upb.sse.jess.tool;
+
+import de.upb.sse.jess.api.PublicApi;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WorkerProtocolTests {
+
+    @Test
+    void responseCarriesRecordAndCounters() {
+        PublicApi.Result res = new PublicApi.Result(PublicApi.Status.OK, null, "p/A", Collections.emptyList(),
+                "p/A.class", true, false, "provided", 7, "");
+        ResultsStore.Record record = new ResultsStore.Record(
+                new RepositoryProcessor.MethodResult("p/A", "foo", "()V", "A.java", res), List.of(Path.of("/B.java")));
+
+        String line = WorkerMain.encodeResponse(record, new long[]{1, 0, 250, 1, 0});
+        assertArrayEquals(new long[]{1, 0, 250, 1, 0}, WorkerMain.decodeCounters(line));
+        ResultsStore.Record decoded = WorkerMain.decodeResponse(line);
+        assertNotNull(decoded);
+        assertEquals("foo", decoded.methodResult.methodName);
+        assertEquals(7, decoded.methodResult.result.elapsedMs);
+        assertEquals(List.of(Path.of("/B.java")), List.copyOf(decoded.dependencies));
+        assertNull(WorkerMain.decodeResponse("X\tfoo"));
+    }
+}
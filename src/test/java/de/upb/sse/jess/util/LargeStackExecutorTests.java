@@ -0,0 +1,45 @@
+package de.upb.sse.jess.util;
+
+import de.upb.sse.jess.annotation.KeepMarks;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LargeStackExecutorTests {
+
+    @Test
+    void deepRecursion() {
+        Thread caller = Thread.currentThread();
+        int depth = LargeStackExecutor.call(512L * 1024 * 1024, "test", () -> {
+            Thread worker = Thread.currentThread();
+            assertNotSame(caller, worker);
+            assertSame(worker, LargeStackExecutor.call(512L * 1024 * 1024, "nested", Thread::currentThread));
+            return recurse(1_000_000);
+        });
+        assertEquals(1_000_000, depth);
+        assertSame(caller, LargeStackExecutor.call(0, "inline", Thread::currentThread));
+    }
+
+    @Test
+    void propagation() {
+        assertThrows(IOException.class, () -> LargeStackExecutor.call(1024 * 1024, "test", () -> {
+            throw new IOException("checked");
+        }));
+
+        KeepMarks session = new KeepMarks();
+        LargeStackExecutor.call(1024 * 1024, "test", () -> {
+            KeepMarks.setCurrent(session);
+            return null;
+        });
+        assertSame(session, KeepMarks.current());
+
+        assertEquals(64L * 1024 * 1024, LargeStackExecutor.parseSize("64m"));
+        assertEquals(512L * 1024, LargeStackExecutor.parseSize("512K"));
+    }
+
+    private static int recurse(int n) {
+        return n == 0 ? 0 : 1 + recurse(n - 1);
+    }
+}
@@ -0,0 +1,20 @@
+package de.upb.sse.jess.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+public class TestFiles {
+
+    /**
+     * Writes {@code content} to {@code file} below {@code root}, creating missing directories.
+     *
+     * @return the root
+     */
+    public static Path write(Path root, String file, String content) throws IOException {
+        Path path = root.resolve(file);
+        Files.createDirectories(path.getParent());
+        Files.writeString(path, content);
+        return root;
+    }
+}